@@ -51,12 +51,22 @@ export default function AdminCreditRequestsPage() {
         try {
             setIsLoading(true)
             setError(null)
-            const endpoint = filter === 'pending'
-                ? `${API_URL}/api/credit-requests/admin/pending`
-                : `${API_URL}/api/credit-requests/admin/all`
-
-            const response = await axios.get(endpoint, getAuthHeaders())
-            let data = response.data
+            let data: CreditRequest[]
+            if (filter === 'pending') {
+                const response = await axios.get(`${API_URL}/api/credit-requests/admin/pending`, getAuthHeaders())
+                data = response.data
+            } else {
+                // The full list is cursor-paginated; follow nextCursor to the end
+                data = []
+                let cursor: string | null = null
+                do {
+                    const response: { data: { items: CreditRequest[]; nextCursor: string | null } } = await axios.get(
+                        `${API_URL}/api/credit-requests/admin/all`,
+                        { ...getAuthHeaders(), params: { limit: 200, ...(cursor ? { cursor } : {}) } })
+                    data.push(...response.data.items)
+                    cursor = response.data.nextCursor
+                } while (cursor)
+            }
 
             // Filter by status if not showing all
             if (filter !== 'all' && filter !== 'pending') {
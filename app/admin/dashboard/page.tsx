@@ -38,13 +38,9 @@ export default function AdminDashboardPage() {
 
         // Load recent bookings
         try {
-          const bookingsResponse = await adminApi.getAllBookings()
-          const bookings = Array.isArray(bookingsResponse) ? bookingsResponse : (bookingsResponse as any)?.data || []
-          // Sort by createdAt descending and take top 3 for display
-          const sortedBookings = bookings
-            .sort((a: BookingData, b: BookingData) => new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime())
-            .slice(0, 3)
-          setRecentBookings(sortedBookings)
+          // The first page is already newest first; only the top 3 are displayed
+          const latestBookings = await adminApi.getRecentBookings(3)
+          setRecentBookings(latestBookings as any)
         } catch (e) {
           console.error("Failed to load bookings:", e)
         }
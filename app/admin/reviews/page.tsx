@@ -27,11 +27,7 @@ const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080"
 const reviewsApi = {
     getAllReviews: async (): Promise<Review[]> => {
         try {
-            const response = await apiClient.get<any>("/api/reviews")
-            if (response && typeof response === 'object' && 'data' in response) {
-                return Array.isArray(response.data) ? response.data : []
-            }
-            return Array.isArray(response) ? response : []
+            return await apiClient.getAllPages<Review>("/api/reviews")
         } catch (err) {
             console.error("[EventVenue] Error fetching reviews:", err)
             return []
@@ -0,0 +1,5 @@
+-- Migration: Add seat hold columns to event_seats
+-- Seats move AVAILABLE -> HELD -> BOOKED; a HELD seat lapses after held_until
+
+ALTER TABLE event_seats ADD COLUMN IF NOT EXISTS held_by BIGINT;
+ALTER TABLE event_seats ADD COLUMN IF NOT EXISTS held_until TIMESTAMP;
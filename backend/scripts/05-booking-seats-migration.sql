@@ -0,0 +1,12 @@
+-- Migration: Normalized booking_seats relation
+-- New seat bookings write one row per seat. Rows for older bookings are backfilled
+-- in the background from bookings.seat_ids (JSON or CSV) and event_seats.booking_id,
+-- see BookingSeatBackfill.
+
+CREATE TABLE IF NOT EXISTS booking_seats (
+    booking_id BIGINT NOT NULL REFERENCES bookings(id) ON DELETE CASCADE,
+    seat_id BIGINT NOT NULL REFERENCES event_seats(id) ON DELETE CASCADE,
+    PRIMARY KEY (booking_id, seat_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_seats_seat_id ON booking_seats(seat_id);
@@ -0,0 +1,4 @@
+-- Migration: Keyset pagination index for booking lists
+-- Pages are read newest first by (created_at, id); see BookingRepository.findVendorBookingsPage
+
+CREATE INDEX IF NOT EXISTS idx_bookings_created_at_id ON bookings(created_at DESC, id DESC);
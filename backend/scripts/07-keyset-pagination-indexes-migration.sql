@@ -0,0 +1,9 @@
+-- Migration: Keyset pagination indexes for list endpoints
+-- Lists page newest first by (created_at, id); see KeysetPager
+
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_venues_created_at_id ON venues(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_events_created_at_id ON events(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_reviews_created_at_id ON reviews(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at_id ON audit_logs(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_credit_requests_created_at_id ON credit_requests(created_at DESC, id DESC);
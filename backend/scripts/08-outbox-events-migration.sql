@@ -0,0 +1,20 @@
+-- Migration: Transactional outbox
+-- Side effects of a booking (vendor credit, audit entry, confirmation email) are
+-- written here in the booking's own transaction and carried out afterwards by
+-- OutboxDispatcher, so they survive a crash between commit and dispatch.
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_id BIGINT,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, DONE, FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events(available_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_events_processed_at ON outbox_events(processed_at) WHERE status = 'DONE';
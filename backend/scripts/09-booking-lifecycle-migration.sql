@@ -0,0 +1,15 @@
+-- Migration: Booking lifecycle sweeps
+-- BookingLifecycleProcessor expires unpaid PENDING bookings and completes CONFIRMED
+-- ones that are over, in chunks read through these partial indexes. A lease row keeps
+-- the sweep to one node at a time.
+
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_created_at ON bookings(created_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_bookings_confirmed_venue_end ON bookings((COALESCE(end_date, booking_date)), id)
+    WHERE status = 'CONFIRMED' AND venue_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_bookings_confirmed_event ON bookings(event_id, id) WHERE status = 'CONFIRMED';
+
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
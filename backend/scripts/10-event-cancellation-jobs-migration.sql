@@ -0,0 +1,24 @@
+-- Migration: Background refunds for cancelled events
+-- EventService.cancelEvent records a job here; EventCancellationProcessor refunds the
+-- event's bookings in id order, one chunk per transaction, and keeps its cursor and
+-- counters on the job so it resumes after a restart.
+
+CREATE TABLE IF NOT EXISTS event_cancellation_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL UNIQUE REFERENCES events(id) ON DELETE CASCADE,
+    vendor_id BIGINT NOT NULL,
+    reason TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING', -- RUNNING, DONE
+    total_bookings INT NOT NULL DEFAULT 0,
+    processed_bookings INT NOT NULL DEFAULT 0,
+    refunded_points BIGINT NOT NULL DEFAULT 0,
+    last_booking_id BIGINT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_event_cancellation_jobs_running ON event_cancellation_jobs(id) WHERE status = 'RUNNING';
+
+CREATE INDEX IF NOT EXISTS idx_bookings_event_id_id ON bookings(event_id, id);
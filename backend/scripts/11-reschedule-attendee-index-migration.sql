@@ -0,0 +1,5 @@
+-- Migration: Attendee index for reschedule notifications
+-- RescheduleNotifier pages through an event's distinct attendee user ids by keyset;
+-- see BookingRepository.findAttendeeUserIds
+
+CREATE INDEX IF NOT EXISTS idx_bookings_event_user ON bookings(event_id, user_id) WHERE status <> 'CANCELLED';
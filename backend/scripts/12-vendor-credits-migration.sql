@@ -0,0 +1,14 @@
+-- Migration: Write-behind vendor earnings
+-- Bookings and cancellations insert a row here instead of updating the vendor;
+-- VendorCredits folds pending rows into vendors.points (deleting them in the same
+-- statement). A vendor's live balance is vendors.points plus its rows here.
+
+CREATE TABLE IF NOT EXISTS vendor_credits (
+    id BIGSERIAL PRIMARY KEY,
+    vendor_id BIGINT NOT NULL REFERENCES vendors(id) ON DELETE CASCADE,
+    booking_id BIGINT,
+    points BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_vendor_credits_vendor_id ON vendor_credits(vendor_id);
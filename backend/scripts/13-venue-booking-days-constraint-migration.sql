@@ -0,0 +1,23 @@
+-- Migration: One booking per venue per day, enforced by the database
+-- VenueAvailabilityIndex.reserve only sees this node's bookings; the constraint stops
+-- two nodes (or a stale index) from booking the same venue day twice. A booking covers
+-- booking_date, or start_date..end_date when both are set; cancelled bookings free
+-- their days.
+--
+-- Existing overlaps make ADD CONSTRAINT fail. List them first with:
+--   SELECT a.id, b.id, a.venue_id FROM bookings a JOIN bookings b
+--     ON a.venue_id = b.venue_id AND a.id < b.id
+--    AND a.status <> 'CANCELLED' AND b.status <> 'CANCELLED'
+--    AND COALESCE(a.start_date, a.booking_date) <= COALESCE(b.end_date, b.booking_date)
+--    AND COALESCE(b.start_date, b.booking_date) <= COALESCE(a.end_date, a.booking_date);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_venue_days_excl;
+ALTER TABLE bookings ADD CONSTRAINT bookings_venue_days_excl EXCLUDE USING gist (
+    venue_id WITH =,
+    (daterange(
+        CASE WHEN start_date IS NOT NULL AND end_date >= start_date THEN start_date ELSE booking_date END,
+        CASE WHEN start_date IS NOT NULL AND end_date >= start_date THEN end_date ELSE booking_date END,
+        '[]')) WITH &&
+) WHERE (venue_id IS NOT NULL AND status <> 'CANCELLED');
@@ -0,0 +1,10 @@
+-- Migration: Credit each vendor Stripe payment once
+-- confirmVendorPayment inserts the payment intent here before crediting points; a
+-- repeated or concurrent confirm hits the primary key and credits nothing.
+
+CREATE TABLE IF NOT EXISTS vendor_payment_claims (
+    payment_intent_id VARCHAR(255) PRIMARY KEY,
+    vendor_id BIGINT NOT NULL REFERENCES vendors(id) ON DELETE CASCADE,
+    points_amount INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
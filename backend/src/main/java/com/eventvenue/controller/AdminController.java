@@ -1,12 +1,16 @@
 package com.eventvenue.controller;
 
 import com.eventvenue.dto.ApiResponse;
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
 import com.eventvenue.entity.Vendor;
 import com.eventvenue.entity.User;
 import com.eventvenue.entity.Booking;
 import com.eventvenue.service.VendorService;
 import com.eventvenue.service.AdminService;
 import com.eventvenue.service.BookingService;
+import com.eventvenue.service.BookingLifecycleProcessor;
+import com.eventvenue.service.EventService;
 import com.eventvenue.repository.UserRepository;
 import com.eventvenue.repository.VendorRepository;
 import com.eventvenue.repository.BookingRepository;
@@ -43,6 +47,12 @@ public class AdminController {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private BookingLifecycleProcessor bookingLifecycleProcessor;
+
+    @Autowired
+    private EventService eventService;
+
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse> getStats() {
         try {
@@ -78,14 +88,48 @@ public class AdminController {
         }
     }
 
-    @GetMapping("/users")
-    public ResponseEntity<ApiResponse> getAllUsers() {
+    // Rows the lifecycle processor expired/completed on this node since startup
+    @GetMapping("/booking-lifecycle")
+    public ResponseEntity<ApiResponse> getBookingLifecycleMetrics() {
+        return ResponseEntity.ok(ApiResponse.builder()
+                .success(true)
+                .message("Booking lifecycle metrics retrieved successfully")
+                .data(bookingLifecycleProcessor.metrics())
+                .build());
+    }
+
+    // Refund progress of cancelled events, newest first
+    @GetMapping("/event-cancellations")
+    public ResponseEntity<ApiResponse> getEventCancellations() {
         try {
-            List<User> users = adminService.getAllUsers();
             return ResponseEntity.ok(ApiResponse.builder()
+                    .success(true)
+                    .message("Event cancellations retrieved successfully")
+                    .data(eventService.getCancellationJobs())
+                    .build());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.builder()
+                    .success(false)
+                    .message("Failed to retrieve event cancellations: " + e.getMessage())
+                    .build());
+        }
+    }
+
+    // Without cursor/limit older clients still get a plain list of the newest
+    // PageCursor.MAX_LIMIT rows, flagged by LegacyList headers when there are more
+    // (deprecated); with either one the response is a CursorPage
+    @GetMapping("/users")
+    public ResponseEntity<ApiResponse> getAllUsers(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit) {
+        try {
+            boolean legacy = LegacyList.requested(cursor, limit);
+            CursorPage<User> users = adminService.getAllUsers(cursor, legacy ? PageCursor.MAX_LIMIT : limit);
+            return ResponseEntity.ok()
+                    .headers(LegacyList.headers(legacy, users))
+                    .body(ApiResponse.builder()
                     .success(true)
                     .message("Users retrieved successfully")
-                    .data(users)
+                    .data(legacy ? users.getItems() : users)
                     .build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.builder()
@@ -315,14 +359,21 @@ public class AdminController {
         }
     }
 
+    // Without cursor/limit older clients still get a plain list of the newest
+    // PageCursor.MAX_LIMIT rows, flagged by LegacyList headers when there are more
+    // (deprecated); with either one the response is a CursorPage
     @GetMapping("/bookings")
-    public ResponseEntity<ApiResponse> getAllBookings() {
+    public ResponseEntity<ApiResponse> getAllBookings(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit) {
         try {
-            List<Booking> bookings = bookingRepository.findAll();
-            return ResponseEntity.ok(ApiResponse.builder()
+            boolean legacy = LegacyList.requested(cursor, limit);
+            CursorPage<Booking> bookings = bookingService.getAllBookings(cursor, legacy ? PageCursor.MAX_LIMIT : limit);
+            return ResponseEntity.ok()
+                    .headers(LegacyList.headers(legacy, bookings))
+                    .body(ApiResponse.builder()
                     .success(true)
                     .message("Bookings retrieved successfully")
-                    .data(bookings)
+                    .data(legacy ? bookings.getItems() : bookings)
                     .build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.builder()
@@ -20,9 +20,14 @@ public class AuditLogController {
     
     private final AuditLogService auditLogService;
     
+    // Without cursor/limit the latest 100 logs are returned; with either one the
+    // response is a CursorPage
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllLogs() {
-        List<AuditLog> logs = auditLogService.getAllLogs();
+    public ResponseEntity<Map<String, Object>> getAllLogs(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        Object logs = cursor == null && limit == null
+                ? auditLogService.getAllLogs()
+                : auditLogService.getAllLogs(cursor, limit);
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("data", logs);
@@ -1,8 +1,12 @@
 package com.eventvenue.controller;
 
 import com.eventvenue.dto.ApiResponse;
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
 import com.eventvenue.entity.Booking;
+import com.eventvenue.service.BookingQueue;
 import com.eventvenue.service.BookingService;
+import com.eventvenue.service.IdempotencyStore;
 import com.eventvenue.service.BookingService.BookingCalculationResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +14,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +27,12 @@ public class BookingController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingQueue bookingQueue;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @GetMapping("/calculate-cost")
     public ResponseEntity<ApiResponse> calculateCost(
             @RequestParam(required = false) Long venueId,
@@ -67,9 +78,20 @@ public class BookingController {
         }
     }
 
+    // Retries carrying the same Idempotency-Key get the first response back instead of
+    // booking (and deducting points) again
     @PostMapping("/with-points")
     public ResponseEntity<ApiResponse> createBookingWithPoints(
             @RequestBody Map<String, Object> bookingRequest,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Authentication authentication) {
+        String caller = authentication != null ? authentication.getName() : "anonymous";
+        return idempotencyStore.execute("bookings/with-points:" + caller, idempotencyKey, bookingRequest,
+                () -> createBookingWithPoints(bookingRequest, authentication));
+    }
+
+    private ResponseEntity<ApiResponse> createBookingWithPoints(
+            Map<String, Object> bookingRequest,
             Authentication authentication) {
         try {
             Long userId = Long.parseLong(authentication.getName());
@@ -78,7 +100,13 @@ public class BookingController {
                 Long.valueOf(bookingRequest.get("venueId").toString()) : null;
             Long eventId = bookingRequest.get("eventId") != null ? 
                 Long.valueOf(bookingRequest.get("eventId").toString()) : null;
-            String bookingDate = bookingRequest.get("bookingDate").toString();
+            // Multi-day venue bookings send startDate/endDate; bookingDate is then optional
+            String startDate = bookingRequest.get("startDate") != null ? 
+                bookingRequest.get("startDate").toString() : null;
+            String endDate = bookingRequest.get("endDate") != null ? 
+                bookingRequest.get("endDate").toString() : null;
+            String bookingDate = bookingRequest.get("bookingDate") != null ? 
+                bookingRequest.get("bookingDate").toString() : startDate;
             String checkInTime = bookingRequest.get("checkInTime") != null ? 
                 bookingRequest.get("checkInTime").toString() : null;
             String checkOutTime = bookingRequest.get("checkOutTime") != null ? 
@@ -99,10 +127,36 @@ public class BookingController {
             // IMPORTANT: Use totalAmount from frontend to maintain consistency with what user saw
             Double totalAmount = bookingRequest.get("totalAmount") != null ? 
                 Double.valueOf(bookingRequest.get("totalAmount").toString()) : null;
+            // Token from /calculate-cost: books at the quoted price without pricing again
+            String quoteToken = bookingRequest.get("quoteToken") != null ? 
+                bookingRequest.get("quoteToken").toString() : null;
             
+            if (eventId != null && venueId == null && bookingQueue.isEnabled()) {
+                // Flash-sale mode: run on the event's single-writer lane
+                BookingQueue.Ticket ticket = bookingQueue.submit(userId, eventId, quantity, List.of(),
+                    () -> bookingService.createBookingWithPoints(
+                        userId, null, eventId, bookingDate, startDate, endDate, checkInTime, checkOutTime,
+                        durationHours, quantity, pointsToUse, paypalTransactionId, remainingAmount, totalAmount,
+                        quoteToken));
+                Optional<Booking> queued = bookingQueue.await(ticket);
+                if (queued.isEmpty()) {
+                    return ResponseEntity.accepted().body(ApiResponse.builder()
+                            .success(true)
+                            .message("Booking queued")
+                            .data(Map.of("ticketId", ticket.getId(), "status", ticket.getStatus()))
+                            .build());
+                }
+                return ResponseEntity.ok(ApiResponse.builder()
+                        .success(true)
+                        .message("Booking created successfully using points")
+                        .data(queued.get())
+                        .build());
+            }
+
             Booking createdBooking = bookingService.createBookingWithPoints(
-                userId, venueId, eventId, bookingDate, checkInTime, checkOutTime, durationHours, quantity,
-                pointsToUse, paypalTransactionId, remainingAmount, totalAmount
+                userId, venueId, eventId, bookingDate, startDate, endDate, checkInTime, checkOutTime,
+                durationHours, quantity, pointsToUse, paypalTransactionId, remainingAmount, totalAmount,
+                quoteToken
             );
 
             
@@ -119,6 +173,33 @@ public class BookingController {
         }
     }
 
+    // Poll a booking queued in flash-sale mode
+    @GetMapping("/queue/{ticketId}")
+    public ResponseEntity<ApiResponse> getQueuedBooking(@PathVariable String ticketId, Authentication authentication) {
+        Long userId = Long.parseLong(authentication.getName());
+        Optional<BookingQueue.Ticket> ticket = bookingQueue.getTicket(ticketId, userId);
+        if (ticket.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String status = ticket.get().getStatus();
+        Map<String, Object> data = new java.util.HashMap<>();
+        data.put("ticketId", ticketId);
+        data.put("status", status);
+        if (!"QUEUED".equals(status)) {
+            try {
+                data.put("booking", bookingQueue.await(ticket.get()).orElse(null));
+            } catch (RuntimeException e) {
+                data.put("error", e.getMessage());
+            }
+        }
+        return ResponseEntity.ok(ApiResponse.builder()
+                .success(!"FAILED".equals(status))
+                .message("Booking " + status.toLowerCase())
+                .data(data)
+                .build());
+    }
+
     @PutMapping("/{id}/confirm")
     public ResponseEntity<ApiResponse> confirmBooking(@PathVariable Long id) {
         try {
@@ -188,16 +269,32 @@ public class BookingController {
         return getMyBookings(authentication);
     }
 
+    // Without cursor/limit older clients still get a plain list of the newest
+    // PageCursor.MAX_LIMIT rows, flagged by LegacyList headers when there are more
+    // (deprecated); with either one the response is a CursorPage of the vendor's venue
+    // and event bookings
     @GetMapping("/vendor/my-bookings")
-    public ResponseEntity<ApiResponse> getVendorBookings(Authentication authentication) {
+    public ResponseEntity<ApiResponse> getVendorBookings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            Authentication authentication) {
         try {
             Long vendorId = Long.parseLong(authentication.getName());
-            List<Booking> bookings = bookingService.getBookingsByVendor(vendorId);
+            LocalDate dateFrom = from != null ? LocalDate.parse(from) : null;
+            LocalDate dateTo = to != null ? LocalDate.parse(to) : null;
+            boolean legacy = LegacyList.requested(cursor, limit);
+            CursorPage<Booking> bookings = bookingService.getBookingsByVendor(vendorId, cursor,
+                    legacy ? PageCursor.MAX_LIMIT : limit, status, dateFrom, dateTo);
             
-            return ResponseEntity.ok(ApiResponse.builder()
+            return ResponseEntity.ok()
+                    .headers(LegacyList.headers(legacy, bookings))
+                    .body(ApiResponse.builder()
                     .success(true)
                     .message("Your bookings retrieved successfully")
-                    .data(bookings)
+                    .data(legacy ? bookings.getItems() : bookings)
                     .build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.builder()
@@ -207,14 +304,21 @@ public class BookingController {
         }
     }
 
+    // Without cursor/limit older clients still get a plain list of the newest
+    // PageCursor.MAX_LIMIT rows, flagged by LegacyList headers when there are more
+    // (deprecated); with either one the response is a CursorPage
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllBookings() {
+    public ResponseEntity<ApiResponse> getAllBookings(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit) {
         try {
-            List<Booking> bookings = bookingService.getAllBookings();
-            return ResponseEntity.ok(ApiResponse.builder()
+            boolean legacy = LegacyList.requested(cursor, limit);
+            CursorPage<Booking> bookings = bookingService.getAllBookings(cursor, legacy ? PageCursor.MAX_LIMIT : limit);
+            return ResponseEntity.ok()
+                    .headers(LegacyList.headers(legacy, bookings))
+                    .body(ApiResponse.builder()
                     .success(true)
                     .message("Bookings retrieved successfully")
-                    .data(bookings)
+                    .data(legacy ? bookings.getItems() : bookings)
                     .build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.builder()
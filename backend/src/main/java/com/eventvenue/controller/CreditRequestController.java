@@ -1,5 +1,7 @@
 package com.eventvenue.controller;
 
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
 import com.eventvenue.entity.CreditRequest;
 import com.eventvenue.service.CreditRequestService;
 import org.springframework.http.ResponseEntity;
@@ -106,12 +108,19 @@ public class CreditRequestController {
     /**
      * Get all requests (admin)
      * GET /api/credit-requests/admin/all
+     * With cursor or limit: GET /api/credit-requests/admin/all?limit=50&cursor=... returns a CursorPage;
+     * without, a plain list of the newest PageCursor.MAX_LIMIT requests, flagged by
+     * LegacyList headers when there are more (deprecated)
      */
     @GetMapping("/admin/all")
-    public ResponseEntity<?> getAllRequests() {
+    public ResponseEntity<?> getAllRequests(@RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer limit) {
         try {
-            List<CreditRequest> requests = creditRequestService.getAllRequests();
-            return ResponseEntity.ok(requests);
+            boolean legacy = LegacyList.requested(cursor, limit);
+            CursorPage<CreditRequest> requests = creditRequestService.getAllRequests(cursor, legacy ? PageCursor.MAX_LIMIT : limit);
+            return ResponseEntity.ok()
+                    .headers(LegacyList.headers(legacy, requests))
+                    .body(legacy ? requests.getItems() : requests);
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -1,7 +1,10 @@
 package com.eventvenue.controller;
 
 import com.eventvenue.dto.ApiResponse;
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
 import com.eventvenue.entity.Event;
+import com.eventvenue.entity.EventCancellationJob;
 import com.eventvenue.service.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -73,14 +76,21 @@ public class EventController {
         }
     }
 
+    // Without cursor/limit older clients still get a plain list of the newest
+    // PageCursor.MAX_LIMIT rows, flagged by LegacyList headers when there are more
+    // (deprecated); with either one the response is a CursorPage
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllEvents() {
+    public ResponseEntity<ApiResponse> getAllEvents(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
         try {
-            List<Event> events = eventService.getAllEvents();
-            return ResponseEntity.ok(ApiResponse.builder()
+            boolean legacy = LegacyList.requested(cursor, limit);
+            CursorPage<Event> events = eventService.getAllEvents(cursor, legacy ? PageCursor.MAX_LIMIT : limit);
+            return ResponseEntity.ok()
+                    .headers(LegacyList.headers(legacy, events))
+                    .body(ApiResponse.builder()
                     .success(true)
                     .message("Events retrieved successfully")
-                    .data(events)
+                    .data(legacy ? events.getItems() : events)
                     .build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.builder()
@@ -127,6 +137,31 @@ public class EventController {
         }
     }
 
+    /**
+     * Refund progress of one of the vendor's cancelled events
+     */
+    @GetMapping("/vendor/{id}/cancellation")
+    public ResponseEntity<ApiResponse> getCancellationProgress(@PathVariable Long id, Authentication authentication) {
+        try {
+            Long vendorId = Long.parseLong(authentication.getPrincipal().toString());
+            EventCancellationJob job = eventService.getCancellationJob(id)
+                    .filter(j -> j.getVendorId().equals(vendorId))
+                    .orElseThrow(() -> new RuntimeException("No cancellation found for this event"));
+            
+            return ResponseEntity.ok(ApiResponse.builder()
+                    .success(true)
+                    .message("Cancellation progress retrieved successfully")
+                    .data(job)
+                    .build());
+        } catch (Exception e) {
+            System.out.println("[pranai] Error getting cancellation progress: " + e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse> updateEvent(@PathVariable Long id, @RequestBody Event eventDetails) {
         System.out.println("[pranai] EventController.updateEvent called for event ID: " + id);
@@ -275,7 +310,7 @@ public class EventController {
             
             return ResponseEntity.ok(ApiResponse.builder()
                     .success(true)
-                    .message("Event cancelled successfully. All booked users have been refunded 100%.")
+                    .message("Event cancelled successfully. All booked users are being refunded 100%.")
                     .data(cancelledEvent)
                     .build());
         } catch (Exception e) {
@@ -0,0 +1,33 @@
+package com.eventvenue.controller;
+
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * List endpoints called without cursor or limit (deprecated) answer with a plain list of
+ * the newest {@link PageCursor#MAX_LIMIT} rows. When more rows exist the response says
+ * so with {@code X-Truncated: true} and {@code X-Next-Cursor}, from which the caller can
+ * page on with {@code ?cursor=...&limit=...}.
+ */
+final class LegacyList {
+
+    static final String TRUNCATED = "X-Truncated";
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private LegacyList() {
+    }
+
+    static boolean requested(String cursor, Integer limit) {
+        return cursor == null && limit == null;
+    }
+
+    static HttpHeaders headers(boolean legacy, CursorPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (legacy && page.getNextCursor() != null) {
+            headers.set(TRUNCATED, "true");
+            headers.set(NEXT_CURSOR, page.getNextCursor());
+        }
+        return headers;
+    }
+}
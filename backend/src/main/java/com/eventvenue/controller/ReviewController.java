@@ -1,6 +1,8 @@
 package com.eventvenue.controller;
 
 import com.eventvenue.dto.ApiResponse;
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
 import com.eventvenue.dto.ReviewDTO;
 import com.eventvenue.entity.Review;
 import com.eventvenue.service.ReviewService;
@@ -92,14 +94,21 @@ public class ReviewController {
         }
     }
 
+    // Without cursor/limit older clients still get a plain list of the newest
+    // PageCursor.MAX_LIMIT rows, flagged by LegacyList headers when there are more
+    // (deprecated); with either one the response is a CursorPage
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllReviews() {
+    public ResponseEntity<ApiResponse> getAllReviews(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
         try {
-            List<ReviewDTO> reviews = reviewService.getAllReviewsDetailed();
-            return ResponseEntity.ok(ApiResponse.builder()
+            boolean legacy = LegacyList.requested(cursor, limit);
+            CursorPage<ReviewDTO> reviews = reviewService.getAllReviewsDetailed(cursor, legacy ? PageCursor.MAX_LIMIT : limit);
+            return ResponseEntity.ok()
+                    .headers(LegacyList.headers(legacy, reviews))
+                    .body(ApiResponse.builder()
                     .success(true)
                     .message("Reviews retrieved successfully")
-                    .data(reviews)
+                    .data(legacy ? reviews.getItems() : reviews)
                     .build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.builder()
@@ -3,15 +3,23 @@ package com.eventvenue.controller;
 import com.eventvenue.entity.Booking;
 import com.eventvenue.entity.User;
 import com.eventvenue.repository.UserRepository;
+import com.eventvenue.service.BookingQueue;
 import com.eventvenue.service.SeatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/events/{eventId}/seats")
@@ -21,15 +29,26 @@ public class SeatController {
 
     private final SeatService seatService;
     private final UserRepository userRepository;
+    private final BookingQueue bookingQueue;
 
     /**
      * Get seat layout for an event
      */
     @GetMapping
-    public ResponseEntity<?> getSeatLayout(@PathVariable Long eventId) {
+    public ResponseEntity<?> getSeatLayout(
+            @PathVariable Long eventId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Read the version before the layout so the ETag is never newer than the body
+            String etag = layoutEtag(eventId, seatService.getSeatLayoutEpoch(), seatService.getSeatLayoutVersion(eventId));
+            if (etagMatches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             Map<String, Object> layout = seatService.getSeatLayout(eventId);
-            return ResponseEntity.ok(layout);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .body(layout);
         } catch (Exception e) {
             log.error("Error getting seat layout for event {}", eventId, e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -39,6 +58,56 @@ public class SeatController {
         }
     }
 
+    /**
+     * Get the compact, versioned seat layout for an event.
+     * Send the last ETag as If-None-Match, or the last epoch and version as
+     * ?epoch=&sinceVersion=, to get a 304 when nothing changed or only the seats that
+     * changed. A version from another epoch (another node) gets the full layout.
+     */
+    @GetMapping("/compact")
+    public ResponseEntity<?> getCompactSeatLayout(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long sinceVersion,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String currentEpoch = seatService.getSeatLayoutEpoch();
+            long version = seatService.getSeatLayoutVersion(eventId);
+            String etag = layoutEtag(eventId, currentEpoch, version);
+            if (etagMatches(ifNoneMatch, etag)
+                    || (currentEpoch.equals(epoch) && sinceVersion != null && sinceVersion == version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
+            Map<String, Object> layout = seatService.getCompactSeatLayout(eventId, epoch, sinceVersion);
+            return ResponseEntity.ok()
+                    .eTag(layoutEtag(eventId, currentEpoch, (Long) layout.get("version")))
+                    .cacheControl(CacheControl.noCache())
+                    .body(layout);
+        } catch (Exception e) {
+            log.error("Error getting compact seat layout for event {}", eventId, e);
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Failed to get seat layout: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Live seat status changes for an event (Server-Sent Events).
+     * Sends an "init" event with the starting layout epoch and version, then a "seats" event
+     * {eventId, epoch, version, type: BOOKED|RELEASED|HELD|BLOCKED, seatIds} per committed change.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeatChanges(@PathVariable Long eventId) {
+        try {
+            return ResponseEntity.ok(seatService.subscribeToSeatChanges(eventId));
+        } catch (RuntimeException e) {
+            log.warn("Refusing seat stream for event {}: {}", eventId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Create seat layout for an event (vendor only)
      */
@@ -63,7 +132,8 @@ public class SeatController {
     }
 
     /**
-     * Book selected seats (user)
+     * Book selected seats (user), either explicit {"seatIds": [...]} or the best
+     * available block via {"quantity": N, "categoryId": X}
      */
     @PostMapping("/book")
     public ResponseEntity<?> bookSeats(
@@ -71,10 +141,6 @@ public class SeatController {
             @RequestBody Map<String, Object> request,
             Authentication authentication) {
         try {
-            @SuppressWarnings("unchecked")
-            List<Long> seatIds = ((List<?>) request.get("seatIds")).stream()
-                    .map(id -> Long.valueOf(id.toString()))
-                    .toList();
             int pointsToUse = request.get("pointsToUse") != null 
                     ? Integer.parseInt(request.get("pointsToUse").toString()) 
                     : 0;
@@ -82,7 +148,34 @@ public class SeatController {
             // Get user ID from authentication (JWT sets userId as principal)
             Long userId = Long.parseLong(authentication.getName());
 
-            Booking booking = seatService.bookSeats(eventId, seatIds, userId, pointsToUse);
+            Booking booking;
+            if (request.get("seatIds") == null && request.get("quantity") != null) {
+                // Best-available mode: {"quantity": N, "categoryId": X}
+                Long categoryId = request.get("categoryId") != null
+                        ? Long.valueOf(request.get("categoryId").toString())
+                        : null;
+                int quantity = Integer.parseInt(request.get("quantity").toString());
+                booking = seatService.bookBestAvailable(eventId, categoryId, quantity, userId, pointsToUse);
+            } else {
+                List<Long> seatIds = parseSeatIds(request);
+                if (bookingQueue.isEnabled()) {
+                    // Flash-sale mode: run on the event's single-writer lane
+                    BookingQueue.Ticket ticket = bookingQueue.submit(userId, eventId, seatIds.size(), seatIds,
+                            () -> seatService.bookSeats(eventId, seatIds, userId, pointsToUse));
+                    Optional<Booking> queued = bookingQueue.await(ticket);
+                    if (queued.isEmpty()) {
+                        return ResponseEntity.accepted().body(Map.of(
+                            "success", true,
+                            "message", "Booking queued",
+                            "ticketId", ticket.getId(),
+                            "status", ticket.getStatus()
+                        ));
+                    }
+                    booking = queued.get();
+                } else {
+                    booking = seatService.bookSeats(eventId, seatIds, userId, pointsToUse);
+                }
+            }
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -105,5 +198,124 @@ public class SeatController {
             ));
         }
     }
-}
 
+    /**
+     * Hold seats for a few minutes while the user checks out (user)
+     */
+    @PostMapping("/hold")
+    public ResponseEntity<?> holdSeats(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, Object> request,
+            Authentication authentication) {
+        try {
+            List<Long> seatIds = parseSeatIds(request);
+            Long userId = Long.parseLong(authentication.getName());
+
+            LocalDateTime heldUntil = seatService.holdSeats(eventId, seatIds, userId);
+
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Seats held successfully",
+                "seatIds", seatIds,
+                "heldUntil", heldUntil.toString()
+            ));
+        } catch (RuntimeException e) {
+            log.error("Error holding seats for event {}", eventId, e);
+            return ResponseEntity.status(409).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Confirm held seats into a booking (user)
+     */
+    @PostMapping("/confirm")
+    public ResponseEntity<?> confirmHeldSeats(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, Object> request,
+            Authentication authentication) {
+        try {
+            List<Long> seatIds = parseSeatIds(request);
+            int pointsToUse = request.get("pointsToUse") != null 
+                    ? Integer.parseInt(request.get("pointsToUse").toString()) 
+                    : 0;
+            Long userId = Long.parseLong(authentication.getName());
+
+            Booking booking = seatService.confirmHeldSeats(eventId, seatIds, userId, pointsToUse);
+
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Seats booked successfully",
+                "bookingId", booking.getId(),
+                "totalAmount", booking.getTotalAmount(),
+                "quantity", booking.getQuantity()
+            ));
+        } catch (RuntimeException e) {
+            log.error("Error confirming held seats for event {}", eventId, e);
+            return ResponseEntity.status(409).body(Map.of(
+                "success", false,
+                "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Release held seats before the hold lapses (user)
+     */
+    @PostMapping("/hold/release")
+    public ResponseEntity<?> releaseHeldSeats(
+            @PathVariable Long eventId,
+            @RequestBody Map<String, Object> request,
+            Authentication authentication) {
+        try {
+            List<Long> seatIds = parseSeatIds(request);
+            Long userId = Long.parseLong(authentication.getName());
+
+            seatService.releaseHeldSeats(eventId, seatIds, userId);
+
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Seats released successfully"
+            ));
+        } catch (Exception e) {
+            log.error("Error releasing held seats for event {}", eventId, e);
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", "Failed to release seats: " + e.getMessage()
+            ));
+        }
+    }
+
+    private String layoutEtag(Long eventId, String epoch, long version) {
+        return "\"" + eventId + "-" + epoch + "-" + version + "\"";
+    }
+
+    private boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Long> parseSeatIds(Map<String, Object> request) {
+        Object raw = request.get("seatIds");
+        if (!(raw instanceof List<?> list)) {
+            throw new RuntimeException("seatIds is required");
+        }
+        return list.stream()
+                .map(id -> Long.valueOf(id.toString()))
+                .distinct()
+                .toList();
+    }
+}
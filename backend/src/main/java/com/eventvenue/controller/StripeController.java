@@ -1,7 +1,9 @@
 package com.eventvenue.controller;
 
+import com.eventvenue.service.IdempotencyStore;
 import com.eventvenue.service.StripePaymentService;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -14,9 +16,11 @@ import java.util.Map;
 public class StripeController {
 
     private final StripePaymentService stripePaymentService;
+    private final IdempotencyStore idempotencyStore;
 
-    public StripeController(StripePaymentService stripePaymentService) {
+    public StripeController(StripePaymentService stripePaymentService, IdempotencyStore idempotencyStore) {
         this.stripePaymentService = stripePaymentService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
@@ -50,9 +54,19 @@ public class StripeController {
      * Confirm payment and credit points
      * POST /api/stripe/confirm-payment
      * Body: { "paymentIntentId": "pi_xxx" }
+     * Optional Idempotency-Key header: retries with the same key get the first response
      */
     @PostMapping("/confirm-payment")
-    public ResponseEntity<?> confirmPayment(@RequestBody Map<String, String> request) {
+    public ResponseEntity<?> confirmPayment(
+            @RequestBody Map<String, String> request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Authentication authentication) {
+        String caller = authentication != null ? authentication.getName() : "anonymous";
+        return idempotencyStore.execute("stripe/confirm-payment:" + caller, idempotencyKey, request,
+                () -> confirmPayment(request));
+    }
+
+    private ResponseEntity<?> confirmPayment(Map<String, String> request) {
         try {
             String paymentIntentId = request.get("paymentIntentId");
             
@@ -158,9 +172,19 @@ public class StripeController {
      * Confirm vendor payment and credit points
      * POST /api/stripe/vendor/confirm-payment
      * Body: { "paymentIntentId": "pi_xxx", "vendorId": 1 }
+     * Optional Idempotency-Key header: retries with the same key get the first response
      */
     @PostMapping("/vendor/confirm-payment")
-    public ResponseEntity<?> confirmVendorPayment(@RequestBody Map<String, Object> request) {
+    public ResponseEntity<?> confirmVendorPayment(
+            @RequestBody Map<String, Object> request,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            Authentication authentication) {
+        String caller = authentication != null ? authentication.getName() : "anonymous";
+        return idempotencyStore.execute("stripe/vendor/confirm-payment:" + caller, idempotencyKey, request,
+                () -> confirmVendorPayment(request));
+    }
+
+    private ResponseEntity<?> confirmVendorPayment(Map<String, Object> request) {
         try {
             String paymentIntentId = request.get("paymentIntentId").toString();
             
@@ -22,7 +22,7 @@ public class VendorController {
     public ResponseEntity<ApiResponse> getVendorProfile(Authentication authentication) {
         try {
             Long vendorId = Long.parseLong(authentication.getPrincipal().toString());
-            Optional<Vendor> vendorOptional = vendorService.findById(vendorId);
+            Optional<Vendor> vendorOptional = vendorService.getProfile(vendorId);
             
             if (vendorOptional.isEmpty()) {
                 return ResponseEntity.badRequest().body(ApiResponse.builder()
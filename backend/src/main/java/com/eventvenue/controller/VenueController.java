@@ -1,6 +1,8 @@
 package com.eventvenue.controller;
 
 import com.eventvenue.dto.ApiResponse;
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
 import com.eventvenue.entity.Venue;
 import com.eventvenue.service.VenueService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -80,14 +82,19 @@ public class VenueController {
     @GetMapping("/{id}/check-availability")
     public ResponseEntity<ApiResponse> checkAvailability(
             @PathVariable Long id,
-            @RequestParam String date) {
+            @RequestParam String date,
+            @RequestParam(required = false) String endDate) {
         try {
             java.time.LocalDate bookingDate = java.time.LocalDate.parse(date);
-            boolean isAvailable = venueService.checkAvailability(id, bookingDate);
+            // endDate checks a multi-day stay from date to endDate, inclusive
+            java.time.LocalDate lastDate = endDate != null ? java.time.LocalDate.parse(endDate) : bookingDate;
+            boolean isAvailable = venueService.checkAvailability(id, bookingDate, lastDate);
             
             return ResponseEntity.ok(ApiResponse.builder()
                     .success(true)
-                    .message(isAvailable ? "Venue is available" : "Venue is not available for this date")
+                    .message(isAvailable ? "Venue is available"
+                            : endDate != null ? "Venue is not available for the selected dates"
+                            : "Venue is not available for this date")
                     .data(java.util.Map.of("available", isAvailable))
                     .build());
         } catch (Exception e) {
@@ -99,6 +106,28 @@ public class VenueController {
         }
     }
 
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<ApiResponse> getMonthAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) String month) {
+        try {
+            java.time.YearMonth yearMonth = month != null
+                    ? java.time.YearMonth.parse(month)
+                    : java.time.YearMonth.now();
+            return ResponseEntity.ok(ApiResponse.builder()
+                    .success(true)
+                    .message("Venue availability for " + yearMonth)
+                    .data(venueService.getMonthAvailability(id, yearMonth))
+                    .build());
+        } catch (Exception e) {
+            System.out.println("[pranai] Error fetching venue availability: " + e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.builder()
+                    .success(false)
+                    .message(e.getMessage())
+                    .build());
+        }
+    }
+
     @GetMapping("/filter")
     public ResponseEntity<ApiResponse> filterVenues(
             @RequestParam(required = false) String city,
@@ -191,14 +220,21 @@ public class VenueController {
         }
     }
 
+    // Without cursor/limit older clients still get a plain list of the newest
+    // PageCursor.MAX_LIMIT rows, flagged by LegacyList headers when there are more
+    // (deprecated); with either one the response is a CursorPage
     @GetMapping
-    public ResponseEntity<ApiResponse> getAllVenues() {
+    public ResponseEntity<ApiResponse> getAllVenues(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
         try {
-            List<Venue> venues = venueService.getAllVenues();
-            return ResponseEntity.ok(ApiResponse.builder()
+            boolean legacy = LegacyList.requested(cursor, limit);
+            CursorPage<Venue> venues = venueService.getAllVenues(cursor, legacy ? PageCursor.MAX_LIMIT : limit);
+            return ResponseEntity.ok()
+                    .headers(LegacyList.headers(legacy, venues))
+                    .body(ApiResponse.builder()
                     .success(true)
                     .message("Venues retrieved successfully")
-                    .data(venues)
+                    .data(legacy ? venues.getItems() : venues)
                     .build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.builder()
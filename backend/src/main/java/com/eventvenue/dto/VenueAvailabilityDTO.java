@@ -0,0 +1,40 @@
+package com.eventvenue.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Free and busy time slots of a venue for every day of one month.
+ * Times are "HH:mm"; "24:00" marks the end of the day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VenueAvailabilityDTO {
+    private Long venueId;
+    private String month;      // "2026-11"
+    private boolean available; // false while the vendor has the venue unpublished
+    private List<Day> days;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Day {
+        private LocalDate date;
+        private String status; // FREE, BOOKED, UNAVAILABLE
+        private List<TimeSlot> busy;
+        private List<TimeSlot> free;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TimeSlot {
+        private String from;
+        private String to;
+    }
+}
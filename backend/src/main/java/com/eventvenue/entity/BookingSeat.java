@@ -0,0 +1,36 @@
+package com.eventvenue.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * One seat of a seat booking. Rows are written in bulk with native inserts
+ * (see BookingSeatRepository), so the entity is only used for reads.
+ */
+@Entity
+@Table(name = "booking_seats")
+@IdClass(BookingSeat.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeat {
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Id
+    @Column(name = "seat_id")
+    private Long seatId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long bookingId;
+        private Long seatId;
+    }
+}
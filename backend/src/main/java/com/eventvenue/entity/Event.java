@@ -46,7 +46,8 @@ public class Event {
     @Column(nullable = false)
     private Integer totalTickets;
 
-    @Column(nullable = false)
+    // Changes only through EventRepository's ticket UPDATEs, never by saving the entity
+    @Column(nullable = false, updatable = false)
     private Integer ticketsAvailable;
 
     @Column(length = 20)
@@ -0,0 +1,74 @@
+package com.eventvenue.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refund progress of a cancelled event, worked through in chunks by
+ * EventCancellationProcessor. lastBookingId is where the next chunk starts.
+ */
+@Entity
+@Table(name = "event_cancellation_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventCancellationJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private Long eventId;
+
+    @Column(name = "vendor_id", nullable = false)
+    private Long vendorId;
+
+    @Column(columnDefinition = "TEXT")
+    private String reason;
+
+    @Column(nullable = false)
+    private String status; // RUNNING, DONE
+
+    @Column(name = "total_bookings", nullable = false)
+    private Integer totalBookings;
+
+    @Column(name = "processed_bookings", nullable = false)
+    private Integer processedBookings;
+
+    @Column(name = "refunded_points", nullable = false)
+    private Long refundedPoints;
+
+    @Column(name = "last_booking_id", nullable = false)
+    private Long lastBookingId;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (status == null) status = "RUNNING";
+        if (totalBookings == null) totalBookings = 0;
+        if (processedBookings == null) processedBookings = 0;
+        if (refundedPoints == null) refundedPoints = 0L;
+        if (lastBookingId == null) lastBookingId = 0L;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
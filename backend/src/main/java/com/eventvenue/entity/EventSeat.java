@@ -31,7 +31,7 @@ public class EventSeat {
     private Integer seatNumber; // 1, 2, 3...
 
     @Column(length = 20)
-    private String status = "AVAILABLE"; // AVAILABLE, BOOKED, BLOCKED
+    private String status = "AVAILABLE"; // AVAILABLE, HELD, BOOKED, BLOCKED
 
     @Column(nullable = false)
     private BigDecimal price;
@@ -39,6 +39,12 @@ public class EventSeat {
     @Column(name = "booking_id")
     private Long bookingId; // Links to booking when booked
 
+    @Column(name = "held_by")
+    private Long heldBy; // User holding the seat while status is HELD
+
+    @Column(name = "held_until")
+    private LocalDateTime heldUntil; // Hold lapses after this time
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,57 @@
+package com.eventvenue.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A side effect recorded in the same transaction as the change that caused it and
+ * carried out later by OutboxDispatcher.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType; // e.g. "VENDOR_CREDIT", "BOOKING_CONFIRMATION_EMAIL"
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId; // booking id for booking side effects
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String payload; // JSON object
+
+    @Column(nullable = false)
+    private String status; // PENDING, DONE, FAILED
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (availableAt == null) availableAt = createdAt;
+        if (status == null) status = "PENDING";
+        if (attempts == null) attempts = 0;
+    }
+}
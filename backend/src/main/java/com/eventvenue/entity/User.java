@@ -32,7 +32,8 @@ public class User {
 
     private String phone;
 
-    @Column(columnDefinition = "BIGINT DEFAULT 200")
+    // Balance changes only through PointsLedger, never by saving the entity
+    @Column(columnDefinition = "BIGINT DEFAULT 200", updatable = false)
     private Long points;
 
     @Column(columnDefinition = "BOOLEAN DEFAULT FALSE")
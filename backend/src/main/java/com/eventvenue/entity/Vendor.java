@@ -51,7 +51,8 @@ public class Vendor {
     @Column(columnDefinition = "INT DEFAULT 0")
     private Integer totalVenues;
 
-    @Column(name = "points", columnDefinition = "BIGINT DEFAULT 0")
+    // Balance changes only through VendorCredits, never by saving the entity
+    @Column(name = "points", columnDefinition = "BIGINT DEFAULT 0", updatable = false)
     private Long points;
 
     @Column(columnDefinition = "BOOLEAN DEFAULT TRUE")
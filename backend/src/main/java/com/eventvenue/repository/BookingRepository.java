@@ -1,12 +1,14 @@
 package com.eventvenue.repository;
 
 import com.eventvenue.entity.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -33,5 +35,43 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
         @Param("checkInTime") LocalTime checkInTime,
         @Param("checkOutTime") LocalTime checkOutTime
     );
-}
 
+    long countByEventIdAndStatusNot(Long eventId, String status);
+
+    // Distinct users holding an active booking for an event, after the keyset :afterUserId
+    @Query("SELECT DISTINCT b.userId FROM Booking b WHERE b.eventId = :eventId AND b.status <> 'CANCELLED' " +
+           "AND b.userId > :afterUserId ORDER BY b.userId")
+    List<Long> findAttendeeUserIds(@Param("eventId") Long eventId, @Param("afterUserId") Long afterUserId,
+                                   Pageable pageable);
+
+    // Next chunk of an event's active bookings after :afterId, locked for refunding
+    @Query(value = "SELECT * FROM bookings WHERE event_id = :eventId AND id > :afterId " +
+                   "AND status <> 'CANCELLED' ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Booking> lockActiveByEventIdAfter(@Param("eventId") Long eventId, @Param("afterId") Long afterId,
+                                           @Param("limit") int limit);
+
+    // Slots of a venue's active bookings as [id, bookingDate, startDate, endDate, checkInTime, checkOutTime]
+    @Query("SELECT b.id, b.bookingDate, b.startDate, b.endDate, b.checkInTime, b.checkOutTime FROM Booking b " +
+           "WHERE b.venueId = :venueId AND b.status <> 'CANCELLED'")
+    List<Object[]> findActiveSlotsByVenueId(@Param("venueId") Long venueId);
+
+    // Bookings of a vendor's venues and events, newest first, after the keyset (createdAt, id)
+    @Query("SELECT b FROM Booking b " +
+           "LEFT JOIN Venue v ON v.id = b.venueId " +
+           "LEFT JOIN Event e ON e.id = b.eventId " +
+           "WHERE (v.vendorId = :vendorId OR e.vendorId = :vendorId) " +
+           "AND (:status IS NULL OR b.status = :status) " +
+           "AND (:dateFrom IS NULL OR b.bookingDate >= :dateFrom) " +
+           "AND (:dateTo IS NULL OR b.bookingDate <= :dateTo) " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findVendorBookingsPage(
+        @Param("vendorId") Long vendorId,
+        @Param("status") String status,
+        @Param("dateFrom") LocalDate dateFrom,
+        @Param("dateTo") LocalDate dateTo,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+}
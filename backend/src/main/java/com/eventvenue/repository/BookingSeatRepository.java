@@ -0,0 +1,37 @@
+package com.eventvenue.repository;
+
+import com.eventvenue.entity.BookingSeat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingSeatRepository extends JpaRepository<BookingSeat, BookingSeat.Key> {
+
+    // Seats of many bookings in one indexed join: rows of [bookingId, EventSeat]
+    @Query("SELECT bs.bookingId, s FROM BookingSeat bs JOIN EventSeat s ON s.id = bs.seatId " +
+           "WHERE bs.bookingId IN :bookingIds")
+    List<Object[]> findSeatsByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    // Link seats to a booking; ids that no longer exist and links already present are skipped
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO booking_seats (booking_id, seat_id) " +
+                   "SELECT :bookingId, s.id FROM event_seats s WHERE s.id IN :seatIds " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int linkSeats(@Param("bookingId") Long bookingId, @Param("seatIds") Collection<Long> seatIds);
+
+    // Link seats that still point at one of these bookings through event_seats.booking_id
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO booking_seats (booking_id, seat_id) " +
+                   "SELECT s.booking_id, s.id FROM event_seats s WHERE s.booking_id IN :bookingIds " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int linkSeatsByBookingFk(@Param("bookingIds") Collection<Long> bookingIds);
+}
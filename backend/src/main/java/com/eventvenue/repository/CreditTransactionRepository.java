@@ -2,8 +2,12 @@ package com.eventvenue.repository;
 
 import com.eventvenue.entity.CreditTransaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +27,16 @@ public interface CreditTransactionRepository extends JpaRepository<CreditTransac
     List<CreditTransaction> findByUserIdAndTransactionType(Long userId, String transactionType);
     
     List<CreditTransaction> findByUserIdAndStatus(Long userId, String status);
+    
+    // Claims a purchase for crediting: only the call that changes the row may add the points
+    @Modifying
+    @Query("UPDATE CreditTransaction t SET t.status = 'COMPLETED', t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.status <> 'COMPLETED'")
+    int markCompleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    // A failed payment never overwrites one that another request already completed
+    @Modifying
+    @Query("UPDATE CreditTransaction t SET t.status = 'FAILED', t.adminNotes = :notes, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.status <> 'COMPLETED'")
+    int markFailed(@Param("id") Long id, @Param("notes") String notes, @Param("now") LocalDateTime now);
 }
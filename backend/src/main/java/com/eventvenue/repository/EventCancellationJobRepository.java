@@ -0,0 +1,27 @@
+package com.eventvenue.repository;
+
+import com.eventvenue.entity.EventCancellationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventCancellationJobRepository extends JpaRepository<EventCancellationJob, Long> {
+
+    Optional<EventCancellationJob> findByEventId(Long eventId);
+
+    List<EventCancellationJob> findAllByOrderByCreatedAtDesc();
+
+    @Query(value = "SELECT id FROM event_cancellation_jobs WHERE status = 'RUNNING' ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findRunningIds(@Param("limit") int limit);
+
+    // Lock a running job for one chunk; empty if another worker or node has it
+    @Query(value = "SELECT * FROM event_cancellation_jobs WHERE id = :id AND status = 'RUNNING' " +
+                   "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<EventCancellationJob> lockRunning(@Param("id") Long id);
+}
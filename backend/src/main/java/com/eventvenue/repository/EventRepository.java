@@ -2,9 +2,11 @@ package com.eventvenue.repository;
 
 import com.eventvenue.entity.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,6 +18,10 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     List<Event> findByIsActive(Boolean isActive);
 
+    @Query("SELECT e.id FROM Event e WHERE e.bookingType = :bookingType AND e.isActive = :isActive")
+    List<Long> findIdsByBookingTypeAndIsActive(@Param("bookingType") String bookingType,
+                                               @Param("isActive") Boolean isActive);
+
     @Query("SELECT e FROM Event e WHERE LOWER(e.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "OR LOWER(e.description) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Event> search(@Param("query") String query);
@@ -33,4 +39,36 @@ public interface EventRepository extends JpaRepository<Event, Long> {
                        @Param("maxPrice") BigDecimal maxPrice,
                        @Param("dateFrom") LocalDate dateFrom,
                        @Param("dateTo") LocalDate dateTo);
+
+    @Query("SELECT e.ticketsAvailable FROM Event e WHERE e.id = :id")
+    Integer findTicketsAvailableById(@Param("id") Long id);
+
+    // Ticket inventory: a single conditional UPDATE, so concurrent buyers can never take
+    // the count below zero and nobody has to load the event to sell a ticket.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.ticketsAvailable = e.ticketsAvailable - :quantity " +
+           "WHERE e.id = :id AND e.ticketsAvailable >= :quantity")
+    int decrementTicketsAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.ticketsAvailable = e.ticketsAvailable + :quantity WHERE e.id = :id")
+    int incrementTicketsAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // A new ticket total moves the remaining count by the same amount, so tickets sold
+    // in the meantime stay sold; never below zero.
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.ticketsAvailable = CASE " +
+           "WHEN e.ticketsAvailable + :total - e.totalTickets < 0 THEN 0 " +
+           "ELSE e.ticketsAvailable + :total - e.totalTickets END, " +
+           "e.totalTickets = :total WHERE e.id = :id")
+    int resizeTickets(@Param("id") Long id, @Param("total") int total);
+
+    // Explicit restock or recount (vendor edit, seat layout), not a sale
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.totalTickets = :total, e.ticketsAvailable = :available WHERE e.id = :id")
+    int setTickets(@Param("id") Long id, @Param("total") int total, @Param("available") int available);
 }
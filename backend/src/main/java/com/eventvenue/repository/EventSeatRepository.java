@@ -10,6 +10,8 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +29,46 @@ public interface EventSeatRepository extends JpaRepository<EventSeat, Long> {
     
     List<EventSeat> findByBookingId(Long bookingId);
     
+    List<EventSeat> findByBookingIdIn(Collection<Long> bookingIds);
+    
+    List<EventSeat> findByStatus(String status);
+    
+    // Seat hold lifecycle: each transition is a single conditional UPDATE, so a seat row is
+    // locked only for the duration of that statement. A lapsed hold counts as available.
+    @Modifying
+    @Query("UPDATE EventSeat s SET s.status = 'HELD', s.heldBy = :userId, s.heldUntil = :heldUntil, s.updatedAt = :now " +
+           "WHERE s.id IN :ids AND s.eventId = :eventId AND (s.status = 'AVAILABLE' OR " +
+           "(s.status = 'HELD' AND (s.heldUntil < :now OR s.heldBy = :userId)))")
+    int holdSeats(@Param("eventId") Long eventId, @Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                  @Param("heldUntil") LocalDateTime heldUntil, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE EventSeat s SET s.status = 'BOOKED', s.bookingId = :bookingId, s.heldBy = NULL, s.heldUntil = NULL, " +
+           "s.updatedAt = :now WHERE s.id IN :ids AND s.eventId = :eventId AND s.status = 'HELD' " +
+           "AND s.heldBy = :userId AND s.heldUntil >= :now")
+    int bookHeldSeats(@Param("eventId") Long eventId, @Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                      @Param("bookingId") Long bookingId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE EventSeat s SET s.status = 'BOOKED', s.bookingId = :bookingId, s.heldBy = NULL, s.heldUntil = NULL, " +
+           "s.updatedAt = :now WHERE s.id IN :ids AND s.eventId = :eventId AND (s.status = 'AVAILABLE' OR " +
+           "(s.status = 'HELD' AND s.heldUntil < :now))")
+    int bookAvailableSeats(@Param("eventId") Long eventId, @Param("ids") Collection<Long> ids,
+                           @Param("bookingId") Long bookingId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventSeat s SET s.status = 'AVAILABLE', s.heldBy = NULL, s.heldUntil = NULL, s.updatedAt = :now " +
+           "WHERE s.id IN :ids AND s.eventId = :eventId AND s.status = 'HELD' AND s.heldBy = :userId")
+    int releaseHeldSeats(@Param("eventId") Long eventId, @Param("ids") Collection<Long> ids,
+                         @Param("userId") Long userId, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventSeat s SET s.status = 'AVAILABLE', s.heldBy = NULL, s.heldUntil = NULL, s.updatedAt = :now " +
+           "WHERE s.id IN :ids AND s.status = 'HELD' AND s.heldUntil <= :now")
+    int expireHeldSeats(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+    
     @Modifying
     @Transactional
     void deleteByEventId(Long eventId);
@@ -0,0 +1,71 @@
+package com.eventvenue.repository;
+
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination for entities with {@code createdAt} and {@code id} attributes.
+ *
+ * Rows are read newest first by {@code (createdAt, id)} and each page starts strictly
+ * after the cursor, so a page costs one indexed range scan of {@code limit + 1} rows no
+ * matter how deep the client has paged. Callers can narrow the rows with a filter.
+ */
+@Component
+public class KeysetPager {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Extra restriction on the rows of a page.
+     */
+    @FunctionalInterface
+    public interface Filter<T> {
+        Predicate toPredicate(Root<T> root, CriteriaBuilder cb);
+    }
+
+    public <T> CursorPage<T> page(Class<T> type, String cursor, Integer limit,
+                                  Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        return page(type, cursor, limit, createdAt, id, null);
+    }
+
+    public <T> CursorPage<T> page(Class<T> type, String cursor, Integer limit,
+                                  Function<T, LocalDateTime> createdAt, Function<T, Long> id, Filter<T> filter) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.limit(limit);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Path<LocalDateTime> createdAtPath = root.get("createdAt");
+        Path<Long> idPath = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.or(
+                cb.lessThan(createdAtPath, after.createdAt()),
+                cb.and(cb.equal(createdAtPath, after.createdAt()), cb.lessThan(idPath, after.id()))));
+        if (filter != null) {
+            predicates.add(filter.toPredicate(root, cb));
+        }
+        query.where(predicates.toArray(new Predicate[0]))
+             .orderBy(cb.desc(createdAtPath), cb.desc(idPath));
+
+        List<T> rows = entityManager.createQuery(query)
+                .setMaxResults(pageSize + 1)
+                .getResultList();
+        return PageCursor.toPage(rows, pageSize, row -> new PageCursor(createdAt.apply(row), id.apply(row)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.eventvenue.repository;
+
+import com.eventvenue.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest pending events that are due, without locking them
+    @Query(value = "SELECT id FROM outbox_events WHERE status = 'PENDING' AND available_at <= :now " +
+                   "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Lock one pending event for the current transaction; empty if another node has it
+    // or it was already handled
+    @Query(value = "SELECT * FROM outbox_events WHERE id = :id AND status = 'PENDING' " +
+                   "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<OutboxEvent> lockPending(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent o WHERE o.status = 'DONE' AND o.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
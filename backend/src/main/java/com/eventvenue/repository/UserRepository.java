@@ -1,7 +1,11 @@
 package com.eventvenue.repository;
 
 import com.eventvenue.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,4 +18,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Role-specific queries for allowing same email across different roles
     Optional<User> findByEmailAndRole(String email, String role);
     boolean existsByEmailAndRole(String email, String role);
+
+    // Load and lock a user for a points check followed by a deduction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
 }
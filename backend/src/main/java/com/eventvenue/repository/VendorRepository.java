@@ -2,6 +2,9 @@ package com.eventvenue.repository;
 
 import com.eventvenue.entity.Vendor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +19,14 @@ public interface VendorRepository extends JpaRepository<Vendor, Long> {
     List<Vendor> findByIsActive(Boolean isActive);
     
     long countByStatus(String status);
+    
+    // Claims a vendor's Stripe payment for crediting: 1 for the first call per payment
+    // intent, 0 for every later one
+    @Modifying
+    @Query(value = "INSERT INTO vendor_payment_claims (payment_intent_id, vendor_id, points_amount, created_at) " +
+                   "VALUES (:paymentIntentId, :vendorId, :points, LOCALTIMESTAMP) " +
+                   "ON CONFLICT (payment_intent_id) DO NOTHING", nativeQuery = true)
+    int claimStripePayment(@Param("paymentIntentId") String paymentIntentId,
+                           @Param("vendorId") Long vendorId,
+                           @Param("points") int points);
 }
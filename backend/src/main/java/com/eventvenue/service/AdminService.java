@@ -1,9 +1,11 @@
 package com.eventvenue.service;
 
+import com.eventvenue.dto.CursorPage;
 import com.eventvenue.entity.User;
 import com.eventvenue.entity.PointHistory;
 import com.eventvenue.entity.SystemSettings;
 import com.eventvenue.repository.UserRepository;
+import com.eventvenue.repository.KeysetPager;
 import com.eventvenue.repository.PointHistoryRepository;
 import com.eventvenue.repository.SystemSettingsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,10 +30,28 @@ public class AdminService {
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private PointsLedger pointsLedger;
+
+    @Autowired
+    private PointsStripes pointsStripes;
+
+    @Autowired
+    private QuoteCache quoteCache;
+
+    // Unbounded; the list endpoints use the paged variant
+    @Deprecated
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    public CursorPage<User> getAllUsers(String cursor, Integer limit) {
+        return keysetPager.page(User.class, cursor, limit, User::getCreatedAt, User::getId);
+    }
+
     @Transactional
     public void deleteUser(Long userId) {
         if (!userRepository.existsById(userId)) {
@@ -40,34 +60,22 @@ public class AdminService {
         userRepository.deleteById(userId);
     }
 
-    @Transactional
+    // Runs on the user's PointsStripes lane when stripes are enabled, serialized with the
+    // user's other standalone changes
     public User adjustUserPoints(Long userId, Long pointsChange, String reason) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (!userOptional.isPresent()) {
-            throw new RuntimeException("User not found");
-        }
-
-        User user = userOptional.get();
-        Long previousPoints = user.getPoints();
-        Long newPoints = previousPoints + pointsChange;
-
-        if (newPoints < 0) {
-            throw new RuntimeException("Cannot reduce points below zero");
-        }
-
-        user.setPoints(newPoints);
-        userRepository.save(user);
+        return pointsStripes.execute(userId, () -> {
+            Optional<User> userOptional = userRepository.findById(userId);
+            if (!userOptional.isPresent()) {
+                throw new RuntimeException("User not found");
+            }
 
-        PointHistory history = PointHistory.builder()
-                .userId(userId)
-                .pointsChanged(pointsChange) // Using correct DB field name
-                .reason(reason)
-                .previousPoints(previousPoints)
-                .newPoints(newPoints)
-                .build();
-        pointHistoryRepository.save(history);
+            User user = userOptional.get();
+            Long newPoints = pointsLedger.apply(userId, pointsChange, reason)
+                    .orElseThrow(() -> new RuntimeException("Cannot reduce points below zero"));
+            user.setPoints(newPoints);
 
-        return user;
+            return user;
+        });
     }
 
     public ConversionRateResponse getConversionRate() {
@@ -107,6 +115,7 @@ public class AdminService {
         }
         
         systemSettingsRepository.save(setting);
+        quoteCache.conversionRateChanged();
         
         // Audit log settings update
         auditLogService.log("SETTINGS_UPDATED", "SETTINGS", null, 
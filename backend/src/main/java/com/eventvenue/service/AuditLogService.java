@@ -1,7 +1,9 @@
 package com.eventvenue.service;
 
+import com.eventvenue.dto.CursorPage;
 import com.eventvenue.entity.AuditLog;
 import com.eventvenue.repository.AuditLogRepository;
+import com.eventvenue.repository.KeysetPager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,6 +16,7 @@ import java.util.List;
 public class AuditLogService {
     
     private final AuditLogRepository auditLogRepository;
+    private final KeysetPager keysetPager;
     
     @Transactional
     public void log(String action, String entityType, Long entityId, String description, 
@@ -38,6 +41,10 @@ public class AuditLogService {
         return auditLogRepository.findTop100ByOrderByCreatedAtDesc();
     }
     
+    public CursorPage<AuditLog> getAllLogs(String cursor, Integer limit) {
+        return keysetPager.page(AuditLog.class, cursor, limit, AuditLog::getCreatedAt, AuditLog::getId);
+    }
+    
     public List<AuditLog> getLogsByEntityType(String entityType) {
         return auditLogRepository.findByEntityTypeOrderByCreatedAtDesc(entityType);
     }
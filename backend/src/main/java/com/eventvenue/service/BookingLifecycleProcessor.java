@@ -0,0 +1,198 @@
+package com.eventvenue.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves bookings through their lifecycle in the background:
+ * <ul>
+ *   <li>PENDING bookings that were never paid are CANCELLED once they are older than
+ *       {@code app.booking-lifecycle.pending-ttl-minutes};</li>
+ *   <li>CONFIRMED venue bookings become COMPLETED the day after their last day;</li>
+ *   <li>CONFIRMED event bookings become COMPLETED {@code app.booking-lifecycle.event-grace-hours}
+ *       after the event started.</li>
+ * </ul>
+ *
+ * Each transition is a chunked UPDATE of at most {@code app.booking-lifecycle.chunk-size}
+ * rows, picked through a partial index and locked with SKIP LOCKED, each chunk in its
+ * own short transaction so bookings being changed by users are skipped rather than
+ * waited on. A run is guarded by the "booking-lifecycle" lease, so with several nodes
+ * only one sweeps at a time. Row counts are kept in {@link #metrics()}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingLifecycleProcessor {
+
+    static final String LEASE = "booking-lifecycle";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLease schedulerLease;
+    private final VenueAvailabilityIndex venueAvailabilityIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.booking-lifecycle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking-lifecycle.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.booking-lifecycle.max-chunks-per-run:100}")
+    private int maxChunksPerRun;
+
+    @Value("${app.booking-lifecycle.pending-ttl-minutes:1440}")
+    private long pendingTtlMinutes;
+
+    @Value("${app.booking-lifecycle.event-grace-hours:12}")
+    private long eventGraceHours;
+
+    @Value("${app.booking-lifecycle.lease-ms:300000}")
+    private long leaseMs;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong skippedRuns = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong completedVenueBookings = new AtomicLong();
+    private final AtomicLong completedEventBookings = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+    private volatile long lastRunRows;
+
+    @Scheduled(fixedDelayString = "${app.booking-lifecycle.delay-ms:60000}",
+               initialDelayString = "${app.booking-lifecycle.initial-delay-ms:60000}")
+    public void process() {
+        if (!enabled) {
+            return;
+        }
+        Duration lease = Duration.ofMillis(leaseMs);
+        try {
+            if (!schedulerLease.tryAcquire(LEASE, lease)) {
+                skippedRuns.incrementAndGet();
+                return;
+            }
+        } catch (Exception e) {
+            failedRuns.incrementAndGet();
+            log.warn("Booking lifecycle could not take its lease: {}", e.getMessage());
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        long rows = 0;
+        try {
+            rows += sweep(lease, this::expirePendingChunk, expired);
+            rows += sweep(lease, this::completeVenueChunk, completedVenueBookings);
+            rows += sweep(lease, this::completeEventChunk, completedEventBookings);
+            runs.incrementAndGet();
+        } catch (Exception e) {
+            failedRuns.incrementAndGet();
+            log.warn("Booking lifecycle run failed, will retry: {}", e.getMessage());
+        } finally {
+            schedulerLease.release(LEASE);
+            lastRunAt = LocalDateTime.now();
+            lastRunMillis = System.currentTimeMillis() - started;
+            lastRunRows = rows;
+        }
+        if (rows > 0) {
+            log.info("Booking lifecycle moved {} bookings in {} ms", rows, lastRunMillis);
+        }
+    }
+
+    /**
+     * Counters since startup, for the admin lifecycle endpoint.
+     */
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("runs", runs.get());
+        metrics.put("skippedRuns", skippedRuns.get());
+        metrics.put("failedRuns", failedRuns.get());
+        metrics.put("expiredPending", expired.get());
+        metrics.put("completedVenueBookings", completedVenueBookings.get());
+        metrics.put("completedEventBookings", completedEventBookings.get());
+        metrics.put("lastRunAt", lastRunAt);
+        metrics.put("lastRunMillis", lastRunMillis);
+        metrics.put("lastRunRows", lastRunRows);
+        return metrics;
+    }
+
+    /**
+     * Run chunks of one transition until one comes back short, extending the lease
+     * between chunks; stops early if the lease was lost or the run hit its chunk limit.
+     */
+    private long sweep(Duration lease, Chunk chunk, AtomicLong counter) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long total = 0;
+        for (int i = 0; i < maxChunksPerRun; i++) {
+            Integer moved = tx.execute(status -> chunk.run());
+            int count = moved != null ? moved : 0;
+            counter.addAndGet(count);
+            total += count;
+            if (count < chunkSize || !schedulerLease.tryAcquire(LEASE, lease)) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int expirePendingChunk() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "UPDATE bookings SET status = 'CANCELLED', cancelled_at = ?, updated_at = ? " +
+                "WHERE id IN (SELECT id FROM bookings WHERE status = 'PENDING' AND created_at < ? " +
+                "AND COALESCE(payment_status, 'PENDING') <> 'COMPLETED' " +
+                "ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                "RETURNING venue_id",
+                Timestamp.valueOf(now), Timestamp.valueOf(now),
+                Timestamp.valueOf(now.minusMinutes(pendingTtlMinutes)), chunkSize);
+        // Cancelled venue bookings free their days; reload those venues once committed
+        Set<Long> venueIds = new HashSet<>();
+        for (Map<String, Object> row : rows) {
+            if (row.get("venue_id") != null) {
+                venueIds.add(((Number) row.get("venue_id")).longValue());
+            }
+        }
+        venueIds.forEach(venueAvailabilityIndex::venueChanged);
+        return rows.size();
+    }
+
+    private int completeVenueChunk() {
+        return jdbcTemplate.update(
+                "UPDATE bookings SET status = 'COMPLETED', updated_at = ? " +
+                "WHERE id IN (SELECT id FROM bookings WHERE status = 'CONFIRMED' AND venue_id IS NOT NULL " +
+                "AND COALESCE(end_date, booking_date) < ? " +
+                "ORDER BY COALESCE(end_date, booking_date), id LIMIT ? FOR UPDATE SKIP LOCKED)",
+                Timestamp.valueOf(LocalDateTime.now()), java.sql.Date.valueOf(LocalDate.now()), chunkSize);
+    }
+
+    private int completeEventChunk() {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update(
+                "UPDATE bookings SET status = 'COMPLETED', updated_at = ? " +
+                "WHERE id IN (SELECT b.id FROM events e JOIN bookings b ON b.event_id = e.id " +
+                "WHERE e.event_date < ? AND b.status = 'CONFIRMED' " +
+                "ORDER BY b.id LIMIT ? FOR UPDATE OF b SKIP LOCKED)",
+                Timestamp.valueOf(now), Timestamp.valueOf(now.minusHours(eventGraceHours)), chunkSize);
+    }
+
+    @FunctionalInterface
+    private interface Chunk {
+        int run();
+    }
+}
@@ -0,0 +1,277 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.Booking;
+import com.eventvenue.entity.Event;
+import com.eventvenue.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Optional single-writer booking queue for flash sales ({@code app.booking.queue.enabled}).
+ *
+ * Booking commands are partitioned by event id onto a fixed set of lanes; each lane is
+ * one thread, so commands for the same event never race each other for the event row or
+ * its seats. A lane keeps the event's remaining tickets (and the seats claimed by the
+ * batch in flight) in memory while a burst drains, rejects commands that cannot fit
+ * without touching the database, and commits the rest in small batches. If a batch
+ * fails, its commands are retried one transaction each so one bad command cannot sink
+ * the others. Different events land on different lanes and proceed in parallel.
+ *
+ * Callers get a {@link Ticket}: a future for the booking plus an id that can be polled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingQueue {
+
+    private final EventRepository eventRepository;
+    private final SeatMapEngine seatMapEngine;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.booking.queue.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.queue.lanes:8}")
+    private int laneCount;
+
+    @Value("${app.booking.queue.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.booking.queue.batch-size:32}")
+    private int batchSize;
+
+    @Value("${app.booking.queue.wait-ms:5000}")
+    private long waitMs;
+
+    @Value("${app.booking.queue.max-tickets:100000}")
+    private int maxTickets;
+
+    private Lane[] lanes;
+
+    // Finished and pending tickets by id, oldest dropped first
+    private final Map<String, Ticket> ticketsById = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Ticket> eldest) {
+            return size() > maxTickets;
+        }
+    });
+
+    /**
+     * Handle for a queued booking command.
+     */
+    public static final class Ticket {
+        private final String id = UUID.randomUUID().toString();
+        private final Long userId;
+        private final Long eventId;
+        private final CompletableFuture<Booking> future = new CompletableFuture<>();
+
+        private Ticket(Long userId, Long eventId) {
+            this.userId = userId;
+            this.eventId = eventId;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public CompletableFuture<Booking> getFuture() {
+            return future;
+        }
+
+        /**
+         * QUEUED, CONFIRMED or FAILED
+         */
+        public String getStatus() {
+            if (!future.isDone()) return "QUEUED";
+            return future.isCompletedExceptionally() ? "FAILED" : "CONFIRMED";
+        }
+    }
+
+    private record Command(Ticket ticket, int tickets, List<Long> seatIds, Supplier<Booking> work) {}
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i);
+            lanes[i].thread.start();
+        }
+        log.info("Booking queue enabled with {} lanes, batch size {}", laneCount, batchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (lanes != null) {
+            for (Lane lane : lanes) {
+                lane.thread.interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a booking command for an event.
+     *
+     * @param tickets tickets the command takes from the event's inventory
+     * @param seatIds seats the command claims (empty for quantity bookings)
+     * @param work    the booking itself; runs on the event's lane inside the batch transaction
+     */
+    public Ticket submit(Long userId, Long eventId, int tickets, List<Long> seatIds, Supplier<Booking> work) {
+        if (!enabled) {
+            throw new IllegalStateException("Booking queue is disabled");
+        }
+        Ticket ticket = new Ticket(userId, eventId);
+        Lane lane = lanes[Math.floorMod(eventId.hashCode(), lanes.length)];
+        ticketsById.put(ticket.getId(), ticket);
+        if (!lane.queue.offer(new Command(ticket, tickets, List.copyOf(seatIds), work))) {
+            ticketsById.remove(ticket.getId());
+            throw new RuntimeException("Booking queue is full, please try again shortly");
+        }
+        return ticket;
+    }
+
+    /**
+     * Wait up to {@code app.booking.queue.wait-ms} for a ticket. Returns empty when the
+     * command is still queued; rethrows the command's own failure.
+     */
+    public Optional<Booking> await(Ticket ticket) {
+        try {
+            return Optional.of(ticket.getFuture().get(waitMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Look up a ticket for polling; only its owner can see it.
+     */
+    public Optional<Ticket> getTicket(String ticketId, Long userId) {
+        Ticket ticket = ticketsById.get(ticketId);
+        return ticket != null && ticket.getUserId().equals(userId) ? Optional.of(ticket) : Optional.empty();
+    }
+
+    private final class Lane {
+        final BlockingQueue<Command> queue = new LinkedBlockingQueue<>(capacity);
+        final Thread thread;
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // In-memory inventory, kept only while the lane has work queued
+        final Map<Long, Integer> ticketsLeft = new HashMap<>();
+
+        Lane(int index) {
+            this.thread = new Thread(this::run, "booking-lane-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void run() {
+            List<Command> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, batchSize - 1);
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.error("Booking lane failed on a batch", e);
+                    batch.forEach(command -> command.ticket().future.completeExceptionally(e));
+                    ticketsLeft.clear();
+                } finally {
+                    batch.clear();
+                    if (queue.isEmpty()) {
+                        ticketsLeft.clear(); // burst is over; reload from the database next time
+                    }
+                }
+            }
+        }
+
+        void process(List<Command> batch) {
+            // Reject what cannot fit before opening a transaction
+            List<Command> accepted = new ArrayList<>(batch.size());
+            Map<Long, Set<Long>> claimedSeats = new HashMap<>();
+            for (Command command : batch) {
+                Long eventId = command.ticket().getEventId();
+                int left = ticketsLeft.computeIfAbsent(eventId, this::loadTickets);
+                if (command.tickets() > left) {
+                    command.ticket().future.completeExceptionally(new RuntimeException("Not enough tickets available"));
+                    continue;
+                }
+                if (!command.seatIds().isEmpty()) {
+                    Set<Long> claimed = claimedSeats.computeIfAbsent(eventId, id -> new HashSet<>());
+                    if (command.seatIds().stream().anyMatch(claimed::contains)
+                            || !seatMapEngine.get(eventId).allHoldable(command.seatIds())) {
+                        command.ticket().future.completeExceptionally(
+                                new SeatsUnavailableException());
+                        continue;
+                    }
+                    claimed.addAll(command.seatIds());
+                }
+                ticketsLeft.put(eventId, left - command.tickets());
+                accepted.add(command);
+            }
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            List<Booking> results = new ArrayList<>(accepted.size());
+            try {
+                transaction.executeWithoutResult(status -> {
+                    for (Command command : accepted) {
+                        results.add(command.work().get());
+                    }
+                });
+                for (int i = 0; i < accepted.size(); i++) {
+                    accepted.get(i).ticket().future.complete(results.get(i));
+                }
+            } catch (RuntimeException batchFailure) {
+                // Inventory guesses are off; redo each command on its own
+                ticketsLeft.clear();
+                for (Command command : accepted) {
+                    try {
+                        command.ticket().future.complete(transaction.execute(status -> command.work().get()));
+                    } catch (RuntimeException e) {
+                        command.ticket().future.completeExceptionally(e);
+                    }
+                }
+            }
+        }
+
+        int loadTickets(Long eventId) {
+            return eventRepository.findById(eventId)
+                    .map(Event::getTicketsAvailable)
+                    .orElse(0);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.SystemSettings;
+import com.eventvenue.repository.BookingSeatRepository;
+import com.eventvenue.repository.SystemSettingsRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Backfills booking_seats for bookings made before the table existed.
+ *
+ * Event bookings are walked in id order, {@code app.booking-seats.backfill.chunk-size}
+ * per tick. Each chunk is read with a plain SELECT (no row or table locks on bookings)
+ * and linked in its own short transaction from both the legacy seat_ids column and
+ * event_seats.booking_id. The last booking id done is stored in system_settings with
+ * the chunk, so the job resumes where it stopped after a restart and several nodes can
+ * run it side by side. New bookings link their seats when they are made, so once the
+ * walk reaches the end the cursor is set to "done" and read paths rely on
+ * booking_seats alone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingSeatBackfill {
+
+    static final String CURSOR_KEY = "booking_seats_backfill_cursor";
+    private static final String DONE = "done";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final SystemSettingsRepository systemSettingsRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.booking-seats.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking-seats.backfill.chunk-size:500}")
+    private int chunkSize;
+
+    private volatile boolean complete;
+
+    /**
+     * True once every booking made before booking_seats existed has been linked.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadState() {
+        try {
+            complete = systemSettingsRepository.findBySettingKey(CURSOR_KEY)
+                    .map(setting -> DONE.equals(setting.getSettingValue()))
+                    .orElse(false);
+            if (!complete) {
+                log.info("booking_seats backfill pending; reads parse legacy seat ids until it finishes");
+            }
+        } catch (Exception e) {
+            log.warn("Could not read booking_seats backfill state: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Link one chunk of bookings.
+     */
+    @Scheduled(fixedDelayString = "${app.booking-seats.backfill.delay-ms:2000}",
+               initialDelayString = "${app.booking-seats.backfill.initial-delay-ms:30000}")
+    public void backfillChunk() {
+        if (complete || !enabled) {
+            return;
+        }
+        try {
+            Long cursor = readCursor();
+            if (cursor == null) {
+                complete = true;
+                return;
+            }
+
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, seat_ids FROM bookings WHERE id > ? AND event_id IS NOT NULL ORDER BY id LIMIT ?",
+                    cursor, chunkSize);
+            if (rows.isEmpty()) {
+                writeCursor(DONE);
+                complete = true;
+                log.info("booking_seats backfill complete");
+                return;
+            }
+
+            List<Long> bookingIds = new ArrayList<>(rows.size());
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                int linked = 0;
+                for (Map<String, Object> row : rows) {
+                    Long bookingId = ((Number) row.get("id")).longValue();
+                    bookingIds.add(bookingId);
+                    List<Long> seatIds = parseSeatIds(bookingId, (String) row.get("seat_ids"));
+                    if (!seatIds.isEmpty()) {
+                        linked += bookingSeatRepository.linkSeats(bookingId, seatIds);
+                    }
+                }
+                linked += bookingSeatRepository.linkSeatsByBookingFk(bookingIds);
+                writeCursor(String.valueOf(bookingIds.get(bookingIds.size() - 1)));
+                log.debug("booking_seats backfill linked {} seats for bookings {}..{}",
+                        linked, bookingIds.get(0), bookingIds.get(bookingIds.size() - 1));
+            });
+        } catch (Exception e) {
+            log.warn("booking_seats backfill chunk failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Parse a legacy seat_ids value, stored as a JSON array or as CSV.
+     */
+    public List<Long> parseSeatIds(Long bookingId, String raw) {
+        List<Long> seatIds = new ArrayList<>();
+        if (raw == null || raw.isEmpty()) {
+            return seatIds;
+        }
+        try {
+            // Try JSON parsing first
+            List<Long> parsed = objectMapper.readValue(raw, new TypeReference<List<Long>>(){});
+            if (parsed != null) {
+                parsed.stream().filter(Objects::nonNull).forEach(seatIds::add);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to parse seat IDs as JSON for booking {}: {}, trying CSV", bookingId, e.getMessage());
+            // Try simple CSV parsing as backup (handles "1,2,3" or "[1,2,3]")
+            try {
+                String cleaned = raw.replaceAll("[\\[\\]\\s]", "");
+                if (!cleaned.isEmpty()) {
+                    for (String part : cleaned.split(",")) {
+                        if (!part.isEmpty()) seatIds.add(Long.parseLong(part));
+                    }
+                }
+            } catch (Exception ex) {
+                log.error("Failed to parse seat IDs as CSV for booking {}", bookingId, ex);
+            }
+        }
+        return seatIds;
+    }
+
+    /**
+     * Last booking id linked, 0 before the first chunk, null once done.
+     */
+    private Long readCursor() {
+        String value = systemSettingsRepository.findBySettingKey(CURSOR_KEY)
+                .map(SystemSettings::getSettingValue)
+                .orElse("0");
+        return DONE.equals(value) ? null : Long.valueOf(value);
+    }
+
+    private void writeCursor(String value) {
+        SystemSettings setting = systemSettingsRepository.findBySettingKey(CURSOR_KEY)
+                .orElseGet(() -> new SystemSettings(CURSOR_KEY, value));
+        setting.setSettingValue(value);
+        systemSettingsRepository.save(setting);
+    }
+}
@@ -1,18 +1,24 @@
 package com.eventvenue.service;
 
 import com.eventvenue.dto.BookingDTO;
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.PageCursor;
 import com.eventvenue.entity.Booking;
 import com.eventvenue.entity.Venue;
 import com.eventvenue.entity.Event;
-import com.eventvenue.entity.Vendor;
 import com.eventvenue.entity.User;
 import com.eventvenue.entity.EventSeat;
 import com.eventvenue.repository.BookingRepository;
 import com.eventvenue.repository.VenueRepository;
 import com.eventvenue.repository.EventRepository;
-import com.eventvenue.repository.VendorRepository;
 import com.eventvenue.repository.EventSeatRepository;
+import com.eventvenue.repository.BookingSeatRepository;
+import com.eventvenue.repository.KeysetPager;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,17 +31,25 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
 
 @Service
 public class BookingService {
 
     private static final Logger log = LoggerFactory.getLogger(BookingService.class);
 
+    // Outbox event types for booking side effects
+    static final String OUTBOX_VENDOR_CREDIT = "VENDOR_CREDIT";
+    static final String OUTBOX_BOOKING_AUDIT = "BOOKING_AUDIT";
+    static final String OUTBOX_CONFIRMATION_EMAIL = "BOOKING_CONFIRMATION_EMAIL";
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -51,9 +65,6 @@ public class BookingService {
     @Autowired
     private AdminService adminService;
     
-    @Autowired
-    private VendorRepository vendorRepository;
-    
     @Autowired
     private AuditLogService auditLogService;
     
@@ -73,10 +84,35 @@ public class BookingService {
     private EventSeatRepository eventSeatRepository;
     
     @Autowired
-    private ObjectMapper objectMapper;
+    private TicketInventory ticketInventory;
+    
+    @Autowired
+    private BookingSeatRepository bookingSeatRepository;
+    
+    @Autowired
+    private BookingSeatBackfill bookingSeatBackfill;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private VenueAvailabilityIndex venueAvailabilityIndex;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private QuoteCache quoteCache;
+
+    @Autowired
+    private VendorCredits vendorCredits;
+
+    @Value("${app.venue-booking.max-days:30}")
+    private int maxVenueBookingDays;
 
     public Booking createBooking(Booking booking) {
         Booking saved = bookingRepository.save(booking);
+        venueAvailabilityIndex.bookingChanged(saved);
         auditLogService.log("BOOKING_CREATED", "BOOKING", saved.getId(), 
             "Booking created for user " + saved.getUserId());
         return saved;
@@ -88,29 +124,65 @@ public class BookingService {
                                           String checkOutTime, Integer durationHours, Integer quantity,
                                           Integer pointsToUse, String paypalTransactionId, Double remainingAmount,
                                           Double totalAmount) {
-        int conversionRate = adminService.getConversionRate().getPointsPerDollar();
-        Long fullPointsNeeded = calculatePointsNeeded(venueId, eventId, durationHours, quantity);
+        return createBookingWithPoints(userId, venueId, eventId, bookingDate, null, null, checkInTime,
+                checkOutTime, durationHours, quantity, pointsToUse, paypalTransactionId, remainingAmount, totalAmount,
+                null);
+    }
+
+    /**
+     * Create a booking paid with points (and optionally PayPal).
+     * Venue bookings may span several days with startDate/endDate; the booking date is
+     * then the first day, and the venue must be free on every day of the range.
+     * A quoteToken from calculateBookingCost is honored while its quote is valid, so the
+     * booking costs what was shown without pricing it again.
+     */
+    @Transactional
+    public Booking createBookingWithPoints(Long userId, Long venueId, Long eventId,
+                                          String bookingDate, String startDate, String endDate,
+                                          String checkInTime, String checkOutTime, Integer durationHours,
+                                          Integer quantity, Integer pointsToUse, String paypalTransactionId,
+                                          Double remainingAmount, Double totalAmount, String quoteToken) {
+        LocalDate firstDay = LocalDate.parse(startDate != null ? startDate : bookingDate);
+        LocalDate lastDay = null;
+        if (venueId != null && endDate != null) {
+            lastDay = LocalDate.parse(endDate);
+            if (lastDay.isBefore(firstDay)) {
+                throw new RuntimeException("End date must not be before start date");
+            }
+            long days = ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+            if (days > maxVenueBookingDays) {
+                throw new RuntimeException("Venue bookings can span at most " + maxVenueBookingDays + " days");
+            }
+            if (durationHours == null) {
+                // Price the whole stay: check-in on the first day to check-out on the last
+                VenueAvailabilityIndex.Slot stay = VenueAvailabilityIndex.Slot.of(0L, firstDay, firstDay, lastDay,
+                        checkInTime != null ? java.time.LocalTime.parse(checkInTime) : null,
+                        checkOutTime != null ? java.time.LocalTime.parse(checkOutTime) : null);
+                durationHours = (int) Math.ceil(stay.minutes() / 60.0);
+            }
+        }
+
+        QuoteCache.Quote quote = quoteToken != null
+            ? quoteCache.redeem(quoteToken, QuoteCache.Key.of(venueId, eventId, durationHours, quantity, pointsToUse)).orElse(null)
+            : null;
+        BookingContext context = loadBookingContext(userId, venueId, eventId, quote != null ? quote.conversionRate() : null);
+        int conversionRate = context.conversionRate;
+        Long fullPointsNeeded = quote != null ? quote.pointsNeeded() : calculatePointsNeeded(context, durationHours, quantity);
         final Long PLATFORM_FEE_POINTS = 2L;
         
         // If pointsToUse is null, use full points (backward compatibility)
         Long actualPointsToUse = pointsToUse != null ? Long.valueOf(pointsToUse) : fullPointsNeeded;
         Long totalPointsRequired = actualPointsToUse + PLATFORM_FEE_POINTS;
         
-        Long userPoints = pointsService.getUserPoints(userId);
+        Long userPoints = context.user.getPoints() != null ? context.user.getPoints() : 0L;
         if (userPoints < totalPointsRequired) {
             throw new RuntimeException("Insufficient points. You need " + totalPointsRequired + " points (including 2 points platform fee) but have " + userPoints);
         }
 
-        if (eventId != null) {
-            Optional<Event> eventOpt = eventRepository.findById(eventId);
-            if (eventOpt.isPresent()) {
-                Event event = eventOpt.get();
-                Integer ticketsNeeded = quantity != null ? quantity : 1;
-                if (event.getTicketsAvailable() < ticketsNeeded) {
-                    throw new RuntimeException("Not enough tickets available");
-                }
-                event.setTicketsAvailable(event.getTicketsAvailable() - ticketsNeeded);
-                eventRepository.save(event);
+        if (context.event != null) {
+            Integer ticketsNeeded = quantity != null ? quantity : 1;
+            if (!ticketInventory.take(eventId, ticketsNeeded)) {
+                throw new RuntimeException("Not enough tickets available");
             }
         }
         
@@ -131,7 +203,9 @@ public class BookingService {
                 .userId(userId)
                 .venueId(venueId)
                 .eventId(eventId)
-                .bookingDate(java.time.LocalDate.parse(bookingDate))
+                .bookingDate(lastDay != null || bookingDate == null ? firstDay : LocalDate.parse(bookingDate))
+                .startDate(lastDay != null ? firstDay : null)
+                .endDate(lastDay)
                 .checkInTime(checkInTime != null ? java.time.LocalTime.parse(checkInTime) : null)
                 .checkOutTime(checkOutTime != null ? java.time.LocalTime.parse(checkOutTime) : null)
                 .durationHours(durationHours)
@@ -146,77 +220,138 @@ public class BookingService {
 
         
         // Capture user name for display in vendor bookings
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            String displayName = user.getFirstName() != null && !user.getFirstName().isEmpty() 
-                ? user.getFirstName() + (user.getLastName() != null ? " " + user.getLastName() : "")
-                : user.getUsername();
-            bookingObj.setUserName(displayName);
-        }
+        User user = context.user;
+        String displayName = user.getFirstName() != null && !user.getFirstName().isEmpty() 
+            ? user.getFirstName() + (user.getLastName() != null ? " " + user.getLastName() : "")
+            : user.getUsername();
+        bookingObj.setUserName(displayName);
         
-        bookingObj = bookingRepository.save(bookingObj);
+        String venueUnavailable = lastDay != null
+            ? "Venue is not available for the selected dates"
+            : "Venue is not available for this date";
+        try {
+            bookingObj = bookingRepository.save(bookingObj);
+        } catch (DataIntegrityViolationException e) {
+            // bookings_venue_days_excl: another node booked one of these days first
+            if (venueId != null) {
+                throw new RuntimeException(venueUnavailable);
+            }
+            throw e;
+        }
+        if (venueId != null && !venueAvailabilityIndex.reserve(bookingObj)) {
+            throw new RuntimeException(venueUnavailable);
+        }
+        venueAvailabilityIndex.bookingChanged(bookingObj);
 
         // Deduct points user wants to use (can be 0 if full PayPal payment)
         if (actualPointsToUse > 0) {
-            pointsService.deductPoints(userId, actualPointsToUse, "Booking payment", bookingObj.getId());
+            pointsService.deductPoints(user, actualPointsToUse, "Booking payment", bookingObj.getId());
         }
         
         // Deduct 2 points platform fee
         if (userPoints >= totalPointsRequired) {
-            pointsService.deductPoints(userId, PLATFORM_FEE_POINTS, "Platform fee", bookingObj.getId());
+            pointsService.deductPoints(user, PLATFORM_FEE_POINTS, "Platform fee", bookingObj.getId());
         }
         
-        // Transfer points to vendor
-        Long vendorId = null;
-        if (venueId != null) {
-            Optional<Venue> venueOpt = venueRepository.findById(venueId);
-            if (venueOpt.isPresent()) {
-                vendorId = venueOpt.get().getVendorId();
-            }
-        } else if (eventId != null) {
-            Optional<Event> eventOpt = eventRepository.findById(eventId);
-            if (eventOpt.isPresent()) {
-                vendorId = eventOpt.get().getVendorId();
+        // Vendor earnings are a pending vendor_credits row, folded into the vendor's
+        // balance later by VendorCredits, so the vendor row is not locked here
+        if (context.vendorId() != null) {
+            vendorCredits.record(context.vendorId(), bookingObj.getId(), fullPointsNeeded);
+        }
+
+        // Audit entry and confirmation email go through the outbox: stored with this
+        // transaction, carried out by OutboxDispatcher after it commits
+        outbox.record(OUTBOX_BOOKING_AUDIT, bookingObj.getId(), Map.of("bookingId", bookingObj.getId(), "userId", userId));
+        outbox.record(OUTBOX_CONFIRMATION_EMAIL, bookingObj.getId(), Map.of("bookingId", bookingObj.getId()));
+
+        return bookingObj;
+    }
+
+    @PostConstruct
+    void registerOutboxHandlers() {
+        outbox.register(OUTBOX_VENDOR_CREDIT, this::creditVendor);
+        outbox.register(OUTBOX_BOOKING_AUDIT, payload -> {
+            Long bookingId = Outbox.longValue(payload, "bookingId");
+            auditLogService.log("BOOKING_CREATED", "BOOKING", bookingId,
+                "Booking created for user " + Outbox.longValue(payload, "userId"));
+        });
+        outbox.register(OUTBOX_CONFIRMATION_EMAIL, payload ->
+            bookingRepository.findById(Outbox.longValue(payload, "bookingId"))
+                .ifPresent(this::sendBookingConfirmationEmail));
+    }
+
+    /**
+     * Transfer a booking's points to the vendor of its venue or event. Only VENDOR_CREDIT
+     * events recorded before vendor_credits existed still arrive here.
+     */
+    private void creditVendor(Map<String, Object> payload) {
+        Long vendorId = Outbox.longValue(payload, "vendorId");
+        if (vendorId == null) {
+            // Recorded without the vendor: look it up from the venue or event
+            Long venueId = Outbox.longValue(payload, "venueId");
+            Long eventId = Outbox.longValue(payload, "eventId");
+            if (venueId != null) {
+                vendorId = venueRepository.findById(venueId).map(Venue::getVendorId).orElse(null);
+            } else if (eventId != null) {
+                vendorId = eventRepository.findById(eventId).map(Event::getVendorId).orElse(null);
             }
         }
-        
         if (vendorId != null) {
-            Optional<Vendor> vendorOpt = vendorRepository.findById(vendorId);
-            if (vendorOpt.isPresent()) {
-                Vendor vendor = vendorOpt.get();
-                vendor.setPoints((vendor.getPoints() != null ? vendor.getPoints() : 0L) + fullPointsNeeded);
-                vendorRepository.save(vendor);
-            }
+            vendorCredits.record(vendorId, Outbox.longValue(payload, "bookingId"), Outbox.longValue(payload, "points"));
         }
+    }
 
-        // Send booking confirmation email
-        sendBookingConfirmationEmail(bookingObj);
+    /**
+     * Rows one booking needs, each loaded once and passed through pricing, the points
+     * check and deduction, and the vendor credit. The user row is locked so concurrent
+     * bookings by the same user cannot both spend the same points.
+     */
+    private static final class BookingContext {
+        final User user;
+        final Venue venue; // null for event bookings or an unknown venue
+        final Event event; // null for venue bookings or an unknown event
+        final int conversionRate;
+
+        BookingContext(User user, Venue venue, Event event, int conversionRate) {
+            this.user = user;
+            this.venue = venue;
+            this.event = event;
+            this.conversionRate = conversionRate;
+        }
 
-        return bookingObj;
+        Long vendorId() {
+            if (venue != null) {
+                return venue.getVendorId();
+            }
+            return event != null ? event.getVendorId() : null;
+        }
     }
 
-    private Long calculatePointsNeeded(Long venueId, Long eventId, Integer durationHours, Integer quantity) {
-        int conversionRate = adminService.getConversionRate().getPointsPerDollar();
+    private BookingContext loadBookingContext(Long userId, Long venueId, Long eventId, Integer quotedConversionRate) {
+        User user = userRepository.findByIdForUpdate(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        Venue venue = venueId != null ? venueRepository.findById(venueId).orElse(null) : null;
+        Event event = eventId != null ? eventRepository.findById(eventId).orElse(null) : null;
+        int conversionRate = quotedConversionRate != null
+            ? quotedConversionRate
+            : adminService.getConversionRate().getPointsPerDollar();
+        return new BookingContext(user, venue, event, conversionRate);
+    }
+
+    private Long calculatePointsNeeded(BookingContext context, Integer durationHours, Integer quantity) {
         java.math.BigDecimal amount = java.math.BigDecimal.ZERO;
 
-        if (venueId != null) {
-            Optional<Venue> venueOpt = venueRepository.findById(venueId);
-            if (venueOpt.isPresent()) {
-                java.math.BigDecimal pricePerHour = venueOpt.get().getPricePerHour();
-                amount = pricePerHour.multiply(new java.math.BigDecimal(durationHours != null ? durationHours : 1));
-            }
+        if (context.venue != null) {
+            java.math.BigDecimal pricePerHour = context.venue.getPricePerHour();
+            amount = pricePerHour.multiply(new java.math.BigDecimal(durationHours != null ? durationHours : 1));
         }
 
-        if (eventId != null) {
-            Optional<Event> eventOpt = eventRepository.findById(eventId);
-            if (eventOpt.isPresent()) {
-                java.math.BigDecimal pricePerTicket = eventOpt.get().getPricePerTicket();
-                amount = pricePerTicket.multiply(new java.math.BigDecimal(quantity != null ? quantity : 1));
-            }
+        if (context.event != null) {
+            java.math.BigDecimal pricePerTicket = context.event.getPricePerTicket();
+            amount = pricePerTicket.multiply(new java.math.BigDecimal(quantity != null ? quantity : 1));
         }
 
-        return Math.round(amount.doubleValue() * conversionRate);
+        return Math.round(amount.doubleValue() * context.conversionRate);
     }
 
     public Optional<Booking> getBookingById(Long id) {
@@ -232,44 +367,7 @@ public class BookingService {
             return null;
         }
         
-        Booking booking = bookingOpt.get();
-        
-        if (booking.getEventId() != null) {
-            // Priority 1: Check if this booking has associated seats in the EventSeat table (linked via FK)
-            List<EventSeat> seats = eventSeatRepository.findByBookingId(booking.getId());
-            
-            // Priority 2: Fallback to parsing seatIds JSON if no FK link found (supports legacy bookings)
-            if (seats.isEmpty() && booking.getSeatIds() != null && !booking.getSeatIds().isEmpty()) {
-                List<Long> seatIds = new ArrayList<>();
-                try {
-                    // Try JSON parsing first
-                    seatIds = objectMapper.readValue(booking.getSeatIds(), new TypeReference<List<Long>>(){});
-                } catch (Exception e) {
-                    log.warn("Failed to parse seat IDs as JSON for booking {}: {}, trying CSV", booking.getId(), e.getMessage());
-                    // Try simple CSV parsing as backup (handles "1,2,3" or "[1,2,3]")
-                    try {
-                        String cleaned = booking.getSeatIds().replaceAll("[\\[\\]\\s]", "");
-                        if (!cleaned.isEmpty()) {
-                            for (String part : cleaned.split(",")) {
-                                if (!part.isEmpty()) seatIds.add(Long.parseLong(part));
-                            }
-                        }
-                    } catch (Exception ex) {
-                        log.error("Failed to parse seat IDs as CSV for booking {}", booking.getId(), ex);
-                    }
-                }
-                
-                if (!seatIds.isEmpty()) {
-                    seats = eventSeatRepository.findAllById(seatIds);
-                }
-            }
-
-            if (!seats.isEmpty()) {
-                return BookingDTO.fromBookingWithSeats(booking, seats);
-            }
-        }
-        
-        return BookingDTO.fromBooking(booking);
+        return toDtosWithSeats(List.of(bookingOpt.get())).get(0);
     }
 
     public List<Booking> getBookingsByUser(Long userId) {
@@ -280,54 +378,76 @@ public class BookingService {
      * Get user bookings with seat information enriched
      */
     public List<BookingDTO> getBookingsByUserWithSeatInfo(Long userId) {
-        List<Booking> bookings = bookingRepository.findByUserId(userId);
-        List<BookingDTO> dtos = new ArrayList<>();
-        
-        for (Booking booking : bookings) {
-            boolean isEventBooking = booking.getEventId() != null;
-            if (isEventBooking) {
-                // Priority 1: Check by FK
-                List<EventSeat> seats = eventSeatRepository.findByBookingId(booking.getId());
-                
-                // Priority 2: Fallback to parsing seatIds JSON
-                if (seats.isEmpty() && booking.getSeatIds() != null && !booking.getSeatIds().isEmpty()) {
-                    List<Long> seatIds = new ArrayList<>();
-                    try {
-                        // Try JSON parsing first
-                        seatIds = objectMapper.readValue(booking.getSeatIds(), new TypeReference<List<Long>>(){});
-                    } catch (Exception e) {
-                        log.warn("Failed to parse seat IDs as JSON for booking {}: {}, trying CSV", booking.getId(), e.getMessage());
-                        // Try simple CSV parsing as backup (handles "1,2,3" or "[1,2,3]")
-                        try {
-                            String cleaned = booking.getSeatIds().replaceAll("[\\[\\]\\s]", "");
-                            if (!cleaned.isEmpty()) {
-                                for (String part : cleaned.split(",")) {
-                                    if (!part.isEmpty()) seatIds.add(Long.parseLong(part));
-                                }
-                            }
-                        } catch (Exception ex) {
-                            log.error("Failed to parse seat IDs as CSV for booking {}", booking.getId(), ex);
-                        }
-                    }
-                    
-                    if (!seatIds.isEmpty()) {
-                        seats = eventSeatRepository.findAllById(seatIds);
-                    }
-                }
+        return toDtosWithSeats(bookingRepository.findByUserId(userId));
+    }
 
-                if (!seats.isEmpty()) {
-                    dtos.add(BookingDTO.fromBookingWithSeats(booking, seats));
-                    continue;
+    /**
+     * Enrich bookings with their seats. Once booking_seats is backfilled this is one
+     * indexed join for the whole list; until then seats linked by booking_id are read
+     * in one query and legacy seatIds JSON is resolved with one more.
+     */
+    private List<BookingDTO> toDtosWithSeats(List<Booking> bookings) {
+        List<Long> eventBookingIds = bookings.stream()
+                .filter(b -> b.getEventId() != null)
+                .map(Booking::getId)
+                .toList();
+        
+        Map<Long, List<EventSeat>> seatsByBooking = new HashMap<>();
+        if (!eventBookingIds.isEmpty()) {
+            if (bookingSeatBackfill.isComplete()) {
+                for (Object[] row : bookingSeatRepository.findSeatsByBookingIdIn(eventBookingIds)) {
+                    seatsByBooking.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((EventSeat) row[1]);
                 }
+            } else {
+                loadSeatsFromLegacyColumns(bookings, eventBookingIds, seatsByBooking);
             }
-            
+        }
+        
+        List<BookingDTO> dtos = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            List<EventSeat> seats = seatsByBooking.get(booking.getId());
             // Fallback for non-seat bookings or if no seats found
-            dtos.add(BookingDTO.fromBooking(booking));
+            dtos.add(seats != null ? BookingDTO.fromBookingWithSeats(booking, seats) : BookingDTO.fromBooking(booking));
         }
         
         return dtos;
     }
 
+    private void loadSeatsFromLegacyColumns(List<Booking> bookings, List<Long> eventBookingIds,
+                                            Map<Long, List<EventSeat>> seatsByBooking) {
+        // Priority 1: seats linked to the booking by FK
+        for (EventSeat seat : eventSeatRepository.findByBookingIdIn(eventBookingIds)) {
+            seatsByBooking.computeIfAbsent(seat.getBookingId(), k -> new ArrayList<>()).add(seat);
+        }
+        
+        // Priority 2: parse seatIds JSON for legacy bookings without FK links
+        Map<Long, List<Long>> legacySeatIds = new HashMap<>();
+        for (Booking booking : bookings) {
+            if (booking.getEventId() != null && !seatsByBooking.containsKey(booking.getId())) {
+                List<Long> seatIds = bookingSeatBackfill.parseSeatIds(booking.getId(), booking.getSeatIds());
+                if (!seatIds.isEmpty()) {
+                    legacySeatIds.put(booking.getId(), seatIds);
+                }
+            }
+        }
+        if (legacySeatIds.isEmpty()) {
+            return;
+        }
+        Set<Long> allIds = new HashSet<>();
+        legacySeatIds.values().forEach(allIds::addAll);
+        Map<Long, EventSeat> seatsById = eventSeatRepository.findAllById(allIds).stream()
+                .collect(Collectors.toMap(EventSeat::getId, seat -> seat));
+        legacySeatIds.forEach((bookingId, seatIds) -> {
+            List<EventSeat> seats = seatIds.stream()
+                    .map(seatsById::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (!seats.isEmpty()) {
+                seatsByBooking.put(bookingId, seats);
+            }
+        });
+    }
+
     public List<Booking> getBookingsByVenue(Long venueId) {
         return bookingRepository.findByVenueId(venueId);
     }
@@ -336,18 +456,16 @@ public class BookingService {
         return bookingRepository.findByEventId(eventId);
     }
 
-    public List<Booking> getBookingsByVendor(Long vendorId) {
-        List<Venue> vendorVenues = venueRepository.findByVendorId(vendorId);
-        List<Long> venueIds = vendorVenues.stream()
-                .map(Venue::getId)
-                .collect(Collectors.toList());
-        
-        List<Booking> vendorBookings = new ArrayList<>();
-        for (Long venueId : venueIds) {
-            vendorBookings.addAll(bookingRepository.findByVenueId(venueId));
-        }
-        
-        return vendorBookings;
+    /**
+     * One page of a vendor's venue and event bookings, newest first, in a single query
+     */
+    public CursorPage<Booking> getBookingsByVendor(Long vendorId, String cursor, Integer limit,
+                                                   String status, LocalDate dateFrom, LocalDate dateTo) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.limit(limit);
+        List<Booking> rows = bookingRepository.findVendorBookingsPage(vendorId, status, dateFrom, dateTo,
+                after.createdAt(), after.id(), PageRequest.of(0, pageSize + 1));
+        return PageCursor.toPage(rows, pageSize, b -> new PageCursor(b.getCreatedAt(), b.getId()));
     }
 
     public Booking updateBooking(Long id, Booking bookingDetails) {
@@ -360,7 +478,9 @@ public class BookingService {
             if (bookingDetails.getPaymentStatus() != null) {
                 booking.setPaymentStatus(bookingDetails.getPaymentStatus());
             }
-            return bookingRepository.save(booking);
+            Booking saved = bookingRepository.save(booking);
+            venueAvailabilityIndex.bookingChanged(saved);
+            return saved;
         }
         throw new RuntimeException("Booking not found");
     }
@@ -372,7 +492,9 @@ public class BookingService {
             Booking booking = bookingOptional.get();
             booking.setStatus("CONFIRMED");
             booking.setPaymentStatus("COMPLETED");
-            return bookingRepository.save(booking);
+            Booking saved = bookingRepository.save(booking);
+            venueAvailabilityIndex.bookingChanged(saved);
+            return saved;
         }
         throw new RuntimeException("Booking not found");
     }
@@ -398,6 +520,7 @@ public class BookingService {
         booking.setRefundAmount(result.refundAmount);
         booking.setRefundPercentage(result.refundPercentage);
         bookingRepository.save(booking);
+        venueAvailabilityIndex.bookingChanged(booking);
         
         // ==========================================
         // NEW REFUND LOGIC FOR HYBRID PAYMENTS:
@@ -445,15 +568,9 @@ public class BookingService {
             }
         }
         
+        // Pending like the credit itself; the fold keeps vendor points from going negative
         if (vendorId != null && pointsToRefund > 0) {
-            Optional<Vendor> vendorOpt = vendorRepository.findById(vendorId);
-            if (vendorOpt.isPresent()) {
-                Vendor vendor = vendorOpt.get();
-                Long currentPoints = vendor.getPoints() != null ? vendor.getPoints() : 0L;
-                // Ensure vendor points don't go negative
-                vendor.setPoints(Math.max(0L, currentPoints - pointsToRefund));
-                vendorRepository.save(vendor);
-            }
+            vendorCredits.record(vendorId, booking.getId(), -pointsToRefund);
         }
 
         if (booking.getEventId() != null) {
@@ -463,8 +580,8 @@ public class BookingService {
                 // Use quantity field if available, otherwise fallback to durationHours for backwards compatibility
                 Integer quantity = booking.getQuantity() != null ? booking.getQuantity() : 
                                  (booking.getDurationHours() != null ? booking.getDurationHours() : 1);
-                event.setTicketsAvailable(event.getTicketsAvailable() + quantity);
-                eventRepository.save(event);
+                eventRepository.incrementTicketsAvailable(event.getId(), quantity);
+                ticketInventory.released(event.getId(), quantity);
                 
                 // Release seats for seat-selection events
                 if ("SEAT_SELECTION".equals(event.getBookingType()) && booking.getSeatIds() != null) {
@@ -557,12 +674,26 @@ public class BookingService {
         }
     }
 
+    // Unbounded; the list endpoints use the paged variant
+    @Deprecated
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
     }
 
+    public CursorPage<Booking> getAllBookings(String cursor, Integer limit) {
+        return keysetPager.page(Booking.class, cursor, limit, Booking::getCreatedAt, Booking::getId);
+    }
+
     public BookingCalculationResult calculateBookingCost(Long venueId, Long eventId, Integer durationHours, 
                                                          Integer quantity, Integer pointsToUse) {
+        // Quotes are reused until the price or conversion rate changes, see QuoteCache
+        QuoteCache.Key key = QuoteCache.Key.of(venueId, eventId, durationHours, quantity, pointsToUse);
+        QuoteCache.Stamp stamp = quoteCache.stamp(venueId, eventId);
+        Optional<QuoteCache.Quote> cached = quoteCache.find(key, stamp);
+        if (cached.isPresent()) {
+            return cached.get().result();
+        }
+
         int conversionRate = adminService.getConversionRate().getPointsPerDollar();
         BigDecimal subtotal = BigDecimal.ZERO;
 
@@ -591,7 +722,10 @@ public class BookingService {
             totalAmount = BigDecimal.ZERO;
         }
 
-        return new BookingCalculationResult(subtotal, pointsDiscount, totalAmount, pointsToUse != null ? pointsToUse : 0);
+        BookingCalculationResult result = new BookingCalculationResult(subtotal, pointsDiscount, totalAmount, pointsToUse != null ? pointsToUse : 0);
+        long pointsNeeded = Math.round(subtotal.doubleValue() * conversionRate);
+        result.quoteToken = quoteCache.put(key, stamp, result, conversionRate, pointsNeeded).token();
+        return result;
     }
 
     public static class BookingCalculationResult {
@@ -599,6 +733,7 @@ public class BookingService {
         public BigDecimal pointsDiscount;
         public BigDecimal totalAmount;
         public Integer pointsUsed;
+        public String quoteToken; // pass to createBookingWithPoints to book at this price
 
         public BookingCalculationResult(BigDecimal subtotal, BigDecimal pointsDiscount, BigDecimal totalAmount, Integer pointsUsed) {
             this.subtotal = subtotal;
@@ -1,8 +1,10 @@
 package com.eventvenue.service;
 
+import com.eventvenue.dto.CursorPage;
 import com.eventvenue.entity.CreditRequest;
 import com.eventvenue.entity.User;
 import com.eventvenue.repository.CreditRequestRepository;
+import com.eventvenue.repository.KeysetPager;
 import com.eventvenue.repository.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,12 +16,18 @@ public class CreditRequestService {
 
     private final CreditRequestRepository creditRequestRepository;
     private final UserRepository userRepository;
+    private final KeysetPager keysetPager;
+    private final PointsLedger pointsLedger;
 
     public CreditRequestService(
             CreditRequestRepository creditRequestRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            KeysetPager keysetPager,
+            PointsLedger pointsLedger) {
         this.creditRequestRepository = creditRequestRepository;
         this.userRepository = userRepository;
+        this.keysetPager = keysetPager;
+        this.pointsLedger = pointsLedger;
     }
 
     /**
@@ -51,11 +59,20 @@ public class CreditRequestService {
 
     /**
      * Get all requests (for admin)
+     * @deprecated unbounded; the list endpoints use the paged variant
      */
+    @Deprecated
     public List<CreditRequest> getAllRequests() {
         return creditRequestRepository.findAllByOrderByCreatedAtDesc();
     }
 
+    /**
+     * Get one page of all requests, newest first
+     */
+    public CursorPage<CreditRequest> getAllRequests(String cursor, Integer limit) {
+        return keysetPager.page(CreditRequest.class, cursor, limit, CreditRequest::getCreatedAt, CreditRequest::getId);
+    }
+
     /**
      * Approve a credit request
      */
@@ -76,9 +93,8 @@ public class CreditRequestService {
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new Exception("User not found: " + request.getUserId()));
 
-        Long currentPoints = user.getPoints() != null ? user.getPoints() : 0L;
-        user.setPoints(currentPoints + request.getPointsRequested());
-        userRepository.save(user);
+        pointsLedger.apply(user.getId(), request.getPointsRequested(), "Credit request #" + requestId + " approved")
+                .ifPresent(user::setPoints);
 
         return request;
     }
@@ -638,6 +638,26 @@ public class EmailService {
             String newTime,
             String newLocation,
             String reason
+    ) {
+        sendEventRescheduleNotificationNow(toEmail, userName, eventName, oldDate, oldTime, oldLocation,
+            newDate, newTime, newLocation, reason);
+    }
+
+    /**
+     * Same as sendEventRescheduleNotification, on the caller's thread; for senders that
+     * bound their own queue (RescheduleNotifier)
+     */
+    public void sendEventRescheduleNotificationNow(
+            String toEmail,
+            String userName,
+            String eventName,
+            String oldDate,
+            String oldTime,
+            String oldLocation,
+            String newDate,
+            String newTime,
+            String newLocation,
+            String reason
     ) {
         try {
             String subject = "⚠️ Event Rescheduled - " + eventName;
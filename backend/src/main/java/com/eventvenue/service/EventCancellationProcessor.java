@@ -0,0 +1,224 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.Booking;
+import com.eventvenue.entity.Event;
+import com.eventvenue.entity.EventCancellationJob;
+import com.eventvenue.entity.User;
+import com.eventvenue.repository.BookingRepository;
+import com.eventvenue.repository.EventCancellationJobRepository;
+import com.eventvenue.repository.EventRepository;
+import com.eventvenue.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Refunds the bookings of cancelled events in the background.
+ *
+ * EventService.cancelEvent only marks the event cancelled and records an
+ * EventCancellationJob. Running jobs are picked up every
+ * {@code app.event-cancellation.delay-ms} and worked on by up to
+ * {@code app.event-cancellation.workers} threads, one job per thread. A job goes
+ * through the event's bookings in id order, {@code app.event-cancellation.chunk-size}
+ * at a time. Each chunk is one transaction: the job row is locked with SKIP LOCKED (so
+ * a job is only ever worked on by one thread on one node), the chunk's bookings and
+ * users are loaded in one query each, points are refunded in one ledger batch, tickets
+ * go back with a single UPDATE, notification emails go to the outbox, and the job's
+ * cursor and counters move forward. A job interrupted by a failure or restart resumes after the
+ * last committed chunk.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventCancellationProcessor {
+
+    static final String OUTBOX_CANCELLATION_EMAIL = "EVENT_CANCELLATION_EMAIL";
+
+    private final EventCancellationJobRepository jobRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final PointsLedger pointsLedger;
+    private final TicketInventory ticketInventory;
+    private final Outbox outbox;
+    private final EmailService emailService;
+    private final AuditLogService auditLogService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.event-cancellation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.event-cancellation.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.event-cancellation.workers:2}")
+    private int workers;
+
+    private ExecutorService executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "event-cancellation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        outbox.register(OUTBOX_CANCELLATION_EMAIL, payload -> emailService.sendEventCancellationNotification(
+                (String) payload.get("email"),
+                (String) payload.get("userName"),
+                (String) payload.get("eventName"),
+                (String) payload.get("reason"),
+                Outbox.longValue(payload, "points").intValue()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hand running jobs that no local worker has yet to the pool.
+     */
+    @Scheduled(fixedDelayString = "${app.event-cancellation.delay-ms:2000}")
+    public void pickUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (Long jobId : jobRepository.findRunningIds(workers)) {
+                if (inFlight.add(jobId)) {
+                    executor.execute(() -> {
+                        try {
+                            run(jobId);
+                        } finally {
+                            inFlight.remove(jobId);
+                        }
+                    });
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not pick up event cancellation jobs: {}", e.getMessage());
+        }
+    }
+
+    private void run(Long jobId) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            boolean more;
+            do {
+                more = Boolean.TRUE.equals(tx.execute(status -> processChunk(jobId)));
+            } while (more);
+        } catch (Exception e) {
+            log.warn("Event cancellation job {} failed a chunk, will resume: {}", jobId, e.getMessage());
+            try {
+                tx.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                    String message = e.getMessage();
+                    job.setLastError(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+                    jobRepository.save(job);
+                }));
+            } catch (Exception ignored) {
+                // progress is still committed; the next pick-up retries
+            }
+        }
+    }
+
+    /**
+     * Refund the next chunk of a job. Returns true if more bookings may follow.
+     */
+    private boolean processChunk(Long jobId) {
+        EventCancellationJob job = jobRepository.lockRunning(jobId).orElse(null);
+        if (job == null) {
+            return false; // done, or another worker has it
+        }
+        Long eventId = job.getEventId();
+        List<Booking> bookings = bookingRepository.lockActiveByEventIdAfter(eventId, job.getLastBookingId(), chunkSize);
+        if (bookings.isEmpty()) {
+            finish(job);
+            return false;
+        }
+
+        Set<Long> userIds = bookings.stream().map(Booking::getUserId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        String eventName = eventRepository.findById(eventId).map(Event::getName).orElse("");
+        String reason = "Event cancelled by vendor: " + job.getReason();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PointsLedger.Entry> refunds = new ArrayList<>();
+        int tickets = 0;
+        long refunded = 0;
+        for (Booking booking : bookings) {
+            long points = booking.getPointsUsed() != null ? booking.getPointsUsed() : 0;
+            User user = users.get(booking.getUserId());
+            if (user != null && points > 0) {
+                refunds.add(new PointsLedger.Entry(user.getId(), points, reason));
+                refunded += points;
+            }
+
+            booking.setStatus("CANCELLED");
+            booking.setCancelledAt(now);
+            booking.setRefundPercentage(100);
+            booking.setRefundAmount(booking.getTotalAmount());
+            tickets += booking.getQuantity() != null ? booking.getQuantity() : 1;
+
+            if (user != null) {
+                Map<String, Object> payload = new HashMap<>();
+                payload.put("email", user.getEmail());
+                payload.put("userName", user.getFirstName() != null ? user.getFirstName() : user.getUsername());
+                payload.put("eventName", eventName);
+                payload.put("reason", job.getReason());
+                payload.put("points", points);
+                outbox.record(OUTBOX_CANCELLATION_EMAIL, booking.getId(), payload);
+            }
+        }
+        // One batch for all refunds of the chunk; bookings are managed and flush with the commit
+        if (!refunds.isEmpty()) {
+            pointsLedger.applyAll(refunds);
+        }
+        if (tickets > 0) {
+            eventRepository.incrementTicketsAvailable(eventId, tickets);
+            ticketInventory.released(eventId, tickets);
+        }
+
+        job.setProcessedBookings(job.getProcessedBookings() + bookings.size());
+        job.setRefundedPoints(job.getRefundedPoints() + refunded);
+        job.setLastBookingId(bookings.get(bookings.size() - 1).getId());
+        job.setLastError(null);
+        if (bookings.size() < chunkSize) {
+            finish(job);
+            return false;
+        }
+        jobRepository.save(job);
+        return true;
+    }
+
+    private void finish(EventCancellationJob job) {
+        job.setStatus("DONE");
+        job.setFinishedAt(LocalDateTime.now());
+        jobRepository.save(job);
+        auditLogService.log("EVENT_REFUNDS_COMPLETED", "EVENT", job.getEventId(),
+            "Refunded " + job.getProcessedBookings() + " bookings (" + job.getRefundedPoints()
+                + " points) of cancelled event");
+        log.info("Event {} cancellation done: {} bookings, {} points refunded",
+                job.getEventId(), job.getProcessedBookings(), job.getRefundedPoints());
+    }
+}
@@ -1,10 +1,14 @@
 package com.eventvenue.service;
 
+import com.eventvenue.dto.CursorPage;
 import com.eventvenue.entity.Event;
 import com.eventvenue.entity.Booking;
 import com.eventvenue.entity.User;
 import com.eventvenue.entity.Vendor;
+import com.eventvenue.entity.EventCancellationJob;
+import com.eventvenue.repository.EventCancellationJobRepository;
 import com.eventvenue.repository.EventRepository;
+import com.eventvenue.repository.KeysetPager;
 import com.eventvenue.repository.BookingRepository;
 import com.eventvenue.repository.UserRepository;
 import com.eventvenue.repository.VendorRepository;
@@ -45,6 +49,24 @@ public class EventService {
     
     @Autowired
     private AuditLogService auditLogService;
+    
+    @Autowired
+    private TicketInventory ticketInventory;
+    
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private QuoteCache quoteCache;
+
+    @Autowired
+    private EventCancellationJobRepository eventCancellationJobRepository;
+
+    @Autowired
+    private RescheduleNotifier rescheduleNotifier;
+
+    @Autowired
+    private VendorCredits vendorCredits;
 
     /**
      * Create event and deduct platform fee from vendor
@@ -58,23 +80,13 @@ public class EventService {
         Long platformFee = "SEAT_SELECTION".equals(bookingType) ? EVENT_SEAT_PLATFORM_FEE : EVENT_QUANTITY_PLATFORM_FEE;
         
         // Deduct platform fee from vendor
-        Optional<Vendor> vendorOpt = vendorRepository.findById(event.getVendorId());
-        if (vendorOpt.isPresent()) {
-            Vendor vendor = vendorOpt.get();
-            Long currentPoints = vendor.getPoints() != null ? vendor.getPoints() : 0L;
-            
-            if (currentPoints < platformFee) {
-                throw new RuntimeException("Insufficient points. You need " + platformFee + 
-                    " points to create a " + bookingType.toLowerCase().replace("_", "-") + 
-                    " event but have " + currentPoints);
-            }
-            
-            vendor.setPoints(currentPoints - platformFee);
-            vendorRepository.save(vendor);
-            
-            System.out.println("[PLATFORM FEE] Deducted " + platformFee + 
-                " points from vendor " + vendor.getId() + " for " + bookingType + " event creation");
+        if (!vendorCredits.spend(event.getVendorId(), platformFee)) {
+            throw new RuntimeException("Insufficient points. You need " + platformFee + 
+                " points to create a " + bookingType.toLowerCase().replace("_", "-") + 
+                " event but have " + vendorCredits.liveBalance(event.getVendorId()));
         }
+        System.out.println("[PLATFORM FEE] Deducted " + platformFee + 
+            " points from vendor " + event.getVendorId() + " for " + bookingType + " event creation");
         
         Event saved = eventRepository.save(event);
         
@@ -106,16 +118,7 @@ public class EventService {
     }
 
     public boolean buyEventTickets(Long eventId, Integer quantity) {
-        Optional<Event> eventOptional = eventRepository.findById(eventId);
-        if (eventOptional.isPresent()) {
-            Event event = eventOptional.get();
-            if (event.getTicketsAvailable() >= quantity) {
-                event.setTicketsAvailable(event.getTicketsAvailable() - quantity);
-                eventRepository.save(event);
-                return true;
-            }
-        }
-        return false;
+        return ticketInventory.take(eventId, quantity);
     }
 
     public Event updateEvent(Long id, Event eventDetails) {
@@ -171,16 +174,21 @@ public class EventService {
             }
             if (eventDetails.getPricePerTicket() != null) {
                 event.setPricePerTicket(eventDetails.getPricePerTicket());
+                quoteCache.eventPriceChanged(id);
             }
             if (eventDetails.getIsActive() != null) {
                 event.setIsActive(eventDetails.getIsActive());
             }
+            // Ticket counts are written by UPDATE so sales running meanwhile are not overwritten
             if (eventDetails.getTotalTickets() != null) {
+                eventRepository.resizeTickets(id, eventDetails.getTotalTickets());
                 event.setTotalTickets(eventDetails.getTotalTickets());
-                event.setTicketsAvailable(eventDetails.getTotalTickets());
             }
             if (eventDetails.getTicketsAvailable() != null) {
-                event.setTicketsAvailable(eventDetails.getTicketsAvailable());
+                eventRepository.setTickets(id, event.getTotalTickets(), eventDetails.getTicketsAvailable());
+            }
+            if (eventDetails.getTotalTickets() != null || eventDetails.getTicketsAvailable() != null) {
+                event.setTicketsAvailable(eventRepository.findTicketsAvailableById(id));
             }
             if (eventDetails.getVendorPhone() != null) {
                 event.setVendorPhone(eventDetails.getVendorPhone());
@@ -189,6 +197,9 @@ public class EventService {
                 event.setEventTime(eventDetails.getEventTime());
             }
             Event saved = eventRepository.save(event);
+            if (eventDetails.getTotalTickets() != null || eventDetails.getTicketsAvailable() != null) {
+                ticketInventory.invalidate(saved.getId());
+            }
             
             // Audit log event update
             auditLogService.log("EVENT_UPDATED", "EVENT", saved.getId(), 
@@ -210,9 +221,15 @@ public class EventService {
             "Event deleted: " + eventName);
     }
 
+    // Unbounded; the list endpoints use the paged variant
+    @Deprecated
     public List<Event> getAllEvents() {
         return eventRepository.findAll();
     }
+
+    public CursorPage<Event> getAllEvents(String cursor, Integer limit) {
+        return keysetPager.page(Event.class, cursor, limit, Event::getCreatedAt, Event::getId);
+    }
     
     /**
      * Reschedule an event (max 2 times)
@@ -263,9 +280,9 @@ public class EventService {
         
         Event savedEvent = eventRepository.save(event);
         
-        // Notify all booked users
-        notifyBookedUsersOfReschedule(eventId, event.getName(), oldEventDate, oldEventTime, 
-                                       oldLocation, newEventDate, newEventTime, newLocation, reason);
+        // Notify all booked users (after commit, in the background)
+        rescheduleNotifier.notifyAttendees(eventId, event.getName(), oldEventDate, oldEventTime,
+                                           oldLocation, newEventDate, newEventTime, newLocation, reason);
         
         // Audit log event reschedule
         auditLogService.log("EVENT_RESCHEDULED", "EVENT", savedEvent.getId(), 
@@ -275,7 +292,9 @@ public class EventService {
     }
     
     /**
-     * Cancel an event and refund all booked users 100%
+     * Cancel an event and refund all booked users 100%.
+     * The refunds run in the background (EventCancellationProcessor); follow them with
+     * getCancellationJob.
      */
     @Transactional
     public Event cancelEvent(Long eventId, Long vendorId, String reason) {
@@ -290,6 +309,9 @@ public class EventService {
         if (!event.getVendorId().equals(vendorId)) {
             throw new RuntimeException("You are not authorized to cancel this event");
         }
+        if (Boolean.TRUE.equals(event.getIsCancelled())) {
+            throw new RuntimeException("Event is already cancelled");
+        }
         
         // Update event status
         event.setIsCancelled(true);
@@ -299,8 +321,13 @@ public class EventService {
         
         Event savedEvent = eventRepository.save(event);
         
-        // Refund all booked users 100%
-        refundAllBookedUsers(eventId, event.getName(), reason);
+        // Refund all booked users 100%, chunk by chunk in the background
+        eventCancellationJobRepository.save(EventCancellationJob.builder()
+                .eventId(eventId)
+                .vendorId(vendorId)
+                .reason(reason)
+                .totalBookings((int) bookingRepository.countByEventIdAndStatusNot(eventId, "CANCELLED"))
+                .build());
         
         // Audit log event cancellation
         auditLogService.log("EVENT_CANCELLED", "EVENT", savedEvent.getId(), 
@@ -310,101 +337,14 @@ public class EventService {
     }
     
     /**
-     * Notify all users who booked this event about the reschedule
+     * Refund progress of a cancelled event
      */
-    private void notifyBookedUsersOfReschedule(Long eventId, String eventName, 
-                                                LocalDateTime oldDate, LocalTime oldTime, String oldLocation,
-                                                LocalDateTime newDate, LocalTime newTime, String newLocation,
-                                                String reason) {
-        try {
-            List<Booking> bookings = bookingRepository.findByEventId(eventId);
-            
-            for (Booking booking : bookings) {
-                if (!"CANCELLED".equals(booking.getStatus())) {
-                    Optional<User> userOpt = userRepository.findById(booking.getUserId());
-                    if (userOpt.isPresent()) {
-                        User user = userOpt.get();
-                        String userName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
-                        
-                        emailService.sendEventRescheduleNotification(
-                            user.getEmail(),
-                            userName,
-                            eventName,
-                            oldDate != null ? oldDate.toString() : "N/A",
-                            oldTime != null ? oldTime.toString() : "N/A",
-                            oldLocation,
-                            newDate != null ? newDate.toString() : "N/A",
-                            newTime != null ? newTime.toString() : "N/A",
-                            newLocation != null ? newLocation : oldLocation,
-                            reason
-                        );
-                        
-                        System.out.println("[EMAIL] Sent reschedule notification to: " + user.getEmail());
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("[EMAIL] Failed to send reschedule notifications: " + e.getMessage());
-        }
+    public Optional<EventCancellationJob> getCancellationJob(Long eventId) {
+        return eventCancellationJobRepository.findByEventId(eventId);
     }
-    
-    /**
-     * Refund all booked users 100% when event is cancelled
-     */
-    private void refundAllBookedUsers(Long eventId, String eventName, String reason) {
-        try {
-            List<Booking> bookings = bookingRepository.findByEventId(eventId);
-            
-            for (Booking booking : bookings) {
-                if (!"CANCELLED".equals(booking.getStatus())) {
-                    // Refund 100% of points
-                    if (booking.getPointsUsed() != null && booking.getPointsUsed() > 0) {
-                        pointsService.refundPoints(
-                            booking.getUserId(),
-                            booking.getPointsUsed().longValue(),
-                            "Event cancelled by vendor: " + reason,
-                            booking.getId()
-                        );
-                    }
-                    
-                    // Update booking status
-                    booking.setStatus("CANCELLED");
-                    booking.setCancelledAt(LocalDateTime.now());
-                    booking.setRefundPercentage(100);
-                    booking.setRefundAmount(booking.getTotalAmount());
-                    bookingRepository.save(booking);
-                    
-                    // Send cancellation email
-                    Optional<User> userOpt = userRepository.findById(booking.getUserId());
-                    if (userOpt.isPresent()) {
-                        User user = userOpt.get();
-                        String userName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
-                        
-                        emailService.sendEventCancellationNotification(
-                            user.getEmail(),
-                            userName,
-                            eventName,
-                            reason,
-                            booking.getPointsUsed() != null ? booking.getPointsUsed() : 0
-                        );
-                        
-                        System.out.println("[EMAIL] Sent cancellation notification to: " + user.getEmail());
-                    }
-                    
-                    // Restore ticket count
-                    Integer quantity = booking.getQuantity() != null ? booking.getQuantity() : 1;
-                    Optional<Event> eventOpt = eventRepository.findById(eventId);
-                    if (eventOpt.isPresent()) {
-                        Event event = eventOpt.get();
-                        event.setTicketsAvailable(event.getTicketsAvailable() + quantity);
-                        eventRepository.save(event);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("[REFUND] Failed to refund users: " + e.getMessage());
-            throw new RuntimeException("Failed to process refunds: " + e.getMessage());
-        }
+
+    public List<EventCancellationJob> getCancellationJobs() {
+        return eventCancellationJobRepository.findAllByOrderByCreatedAtDesc();
     }
     
     /**
@@ -0,0 +1,163 @@
+package com.eventvenue.service;
+
+import com.eventvenue.dto.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Responses of non-repeatable POSTs by {@code Idempotency-Key} header, so a client can
+ * retry a timed-out request without it running twice.
+ *
+ * The first request with a key runs; its response is kept for
+ * {@code app.idempotency.ttl-ms} and replayed to later requests with the same key and
+ * body, without touching the database. Duplicates that arrive while the first is still
+ * running wait for it (up to {@code app.idempotency.wait-ms}) instead of racing it.
+ * 5xx responses and exceptions are not kept, so those can be retried for real; reusing
+ * a key with a different body is rejected with 422.
+ *
+ * Entries live in memory on this node, at most {@code app.idempotency.max-entries},
+ * oldest dropped first. Keys are scoped per endpoint and caller.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Value("${app.idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${app.idempotency.wait-ms:30000}")
+    private long waitMs;
+
+    @Value("${app.idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    // Insertion order is expiry order; guarded by itself
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries && eldest.getValue().response.isDone();
+        }
+    };
+
+    private static final class Entry {
+        private final Object request;
+        private final long createdAt = System.currentTimeMillis();
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+    }
+
+    /**
+     * Run {@code action} once per key. Without a key the action just runs.
+     *
+     * @param scope   endpoint and caller the key belongs to, e.g. "bookings/with-points:42"
+     * @param key     the client's Idempotency-Key header, may be null
+     * @param request request body; a replay must send an equal one (compared with equals)
+     */
+    @SuppressWarnings("unchecked")
+    public <R extends ResponseEntity<?>> R execute(String scope, String key, Object request, Supplier<R> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return (R) error(HttpStatus.BAD_REQUEST, HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String entryKey = scope + "|" + key;
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            purgeExpired();
+            entry = entries.get(entryKey);
+            if (entry == null) {
+                entry = new Entry(request);
+                entries.put(entryKey, entry);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            // The stored body itself, not a hash: two different bodies never pass as one
+            if (!Objects.equals(entry.request, request)) {
+                return (R) error(HttpStatus.UNPROCESSABLE_ENTITY,
+                        HEADER + " was already used with a different request");
+            }
+            return (R) replay(entry);
+        }
+
+        R response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            forget(entryKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            forget(entryKey, entry);
+        }
+        entry.response.complete(response);
+        return response;
+    }
+
+    private ResponseEntity<?> replay(Entry entry) {
+        try {
+            ResponseEntity<?> original = entry.response.get(waitMs, TimeUnit.MILLISECONDS);
+            return ResponseEntity.status(original.getStatusCode())
+                    .headers(original.getHeaders())
+                    .header(REPLAYED_HEADER, "true")
+                    .body(original.getBody());
+        } catch (TimeoutException e) {
+            return error(HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+        } catch (Exception e) {
+            // The first request failed outright; the caller may retry with the same key
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
+        }
+    }
+
+    private void forget(String entryKey, Entry entry) {
+        synchronized (entries) {
+            entries.remove(entryKey, entry);
+        }
+    }
+
+    private void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMs;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry eldest = it.next();
+            if (eldest.createdAt > cutoff || !eldest.response.isDone()) {
+                break;
+            }
+            it.remove();
+        }
+    }
+
+    private static ResponseEntity<ApiResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(ApiResponse.builder()
+                .success(false)
+                .message(message)
+                .build());
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.OutboxEvent;
+import com.eventvenue.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Transactional outbox. {@link #record} writes a side effect in the caller's
+ * transaction, so it is stored if and only if the change that caused it commits;
+ * OutboxDispatcher later runs the handler registered for its type.
+ *
+ * Handlers run inside the transaction that marks the event done, so database side
+ * effects happen exactly once. Anything outside the database (email) may repeat if a
+ * node dies mid-dispatch.
+ */
+@Component
+@RequiredArgsConstructor
+public class Outbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Consumer<Map<String, Object>>> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * Handle events of a type with the given code; it receives the recorded payload.
+     */
+    public void register(String eventType, Consumer<Map<String, Object>> handler) {
+        handlers.put(eventType, handler);
+    }
+
+    /**
+     * Record a side effect in the current transaction.
+     */
+    public void record(String eventType, Long aggregateId, Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize outbox payload for " + eventType, e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .payload(json)
+                .build());
+    }
+
+    Optional<Consumer<Map<String, Object>>> handler(String eventType) {
+        return Optional.ofNullable(handlers.get(eventType));
+    }
+
+    /**
+     * Payload values are plain JSON; numbers come back as Integer or Long.
+     */
+    public static Long longValue(Map<String, Object> payload, String key) {
+        Object value = payload.get(key);
+        return value != null ? ((Number) value).longValue() : null;
+    }
+}
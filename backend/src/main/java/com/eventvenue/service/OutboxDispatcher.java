@@ -0,0 +1,130 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.OutboxEvent;
+import com.eventvenue.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Drains the outbox in batches of {@code app.outbox.batch-size}.
+ *
+ * Each event is handled in its own short transaction that first locks the row with
+ * SKIP LOCKED, so several nodes can drain side by side without handling an event
+ * twice, and one failing event does not hold up the rest. A failed event is retried
+ * after {@code app.outbox.retry-delay-ms} times its attempt count, and parked as
+ * FAILED after {@code app.outbox.max-attempts}. Handled events are deleted after
+ * {@code app.outbox.retention-hours}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private final Outbox outbox;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-delay-ms:30000}")
+    private long retryDelayMs;
+
+    @Value("${app.outbox.retention-hours:168}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${app.outbox.delay-ms:1000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<Long> ids;
+            do {
+                ids = outboxEventRepository.findDueIds(LocalDateTime.now(), batchSize);
+                for (Long id : ids) {
+                    dispatchOne(id);
+                }
+            } while (ids.size() == batchSize);
+        } catch (Exception e) {
+            log.warn("Outbox dispatch failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-delay-ms:3600000}")
+    public void purge() {
+        try {
+            int deleted = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusHours(retentionHours));
+            if (deleted > 0) {
+                log.debug("Purged {} handled outbox events", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    private void dispatchOne(Long id) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            tx.executeWithoutResult(status -> outboxEventRepository.lockPending(id).ifPresent(event -> {
+                Consumer<Map<String, Object>> handler = outbox.handler(event.getEventType())
+                        .orElseThrow(() -> new RuntimeException("No outbox handler for " + event.getEventType()));
+                handler.accept(readPayload(event));
+                event.setStatus("DONE");
+                event.setProcessedAt(LocalDateTime.now());
+                outboxEventRepository.save(event);
+            }));
+        } catch (Exception e) {
+            tx.executeWithoutResult(status -> outboxEventRepository.lockPending(id).ifPresent(event -> {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setLastError(truncate(e.getMessage()));
+                if (attempts >= maxAttempts) {
+                    event.setStatus("FAILED");
+                    log.error("Outbox event {} ({}) failed {} times, giving up: {}",
+                            id, event.getEventType(), attempts, e.getMessage());
+                } else {
+                    event.setAvailableAt(LocalDateTime.now().plus(Duration.ofMillis(retryDelayMs * attempts)));
+                    log.warn("Outbox event {} ({}) failed, attempt {}: {}",
+                            id, event.getEventType(), attempts, e.getMessage());
+                }
+                outboxEventRepository.save(event);
+            }));
+        }
+    }
+
+    private Map<String, Object> readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new RuntimeException("Unreadable outbox payload: " + e.getMessage(), e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
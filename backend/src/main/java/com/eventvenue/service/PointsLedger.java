@@ -0,0 +1,65 @@
+package com.eventvenue.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The only way a user's points balance changes.
+ *
+ * points_history is the ledger: every change is one row carrying the amount, the reason
+ * and the balance before and after. users.points is the running balance the ledger
+ * leads to, and is never written through the User entity (the column is not
+ * updatable). A change is a single statement that moves the balance with a
+ * conditional UPDATE (a deduction only applies while the balance covers it) and inserts
+ * the ledger row from the UPDATE's result, so concurrent bookings, refunds and
+ * purchases cannot lose each other's updates and the ledger always matches.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointsLedger {
+
+    private static final String APPLY =
+            "WITH changed AS (" +
+            "UPDATE users SET points = COALESCE(points, 0) + ?, updated_at = LOCALTIMESTAMP " +
+            "WHERE id = ? AND COALESCE(points, 0) >= ? RETURNING id, points) " +
+            "INSERT INTO points_history (user_id, points_changed, reason, previous_points, new_points, created_at) " +
+            "SELECT id, ?, ?, points - ?, points, LOCALTIMESTAMP FROM changed";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One change to a user's balance; negative points are a deduction.
+     */
+    public record Entry(Long userId, long points, String reason) {}
+
+    /**
+     * Apply a change. Returns the new balance, or empty if the user does not exist or
+     * the balance does not cover a deduction (nothing was changed then).
+     */
+    public Optional<Long> apply(Long userId, long points, String reason) {
+        List<Long> balance = jdbcTemplate.queryForList(APPLY + " RETURNING new_points", Long.class,
+                args(new Entry(userId, points, reason)));
+        return balance.stream().findFirst();
+    }
+
+    /**
+     * Apply several changes in one JDBC batch. Returns, per entry, whether it applied.
+     */
+    public boolean[] applyAll(List<Entry> entries) {
+        int[] counts = jdbcTemplate.batchUpdate(APPLY, entries.stream().map(PointsLedger::args).toList());
+        boolean[] applied = new boolean[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            applied[i] = counts[i] != 0; // 1, or SUCCESS_NO_INFO from some drivers
+        }
+        return applied;
+    }
+
+    private static Object[] args(Entry entry) {
+        long points = entry.points();
+        return new Object[] {points, entry.userId(), Math.max(0L, -points), points, entry.reason(), points};
+    }
+}
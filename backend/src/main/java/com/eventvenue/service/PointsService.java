@@ -19,6 +19,12 @@ public class PointsService {
 
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private PointsLedger pointsLedger;
+
+    @Autowired
+    private PointsStripes pointsStripes;
     
     @Autowired
     private AdminService adminService;
@@ -26,126 +32,90 @@ public class PointsService {
     @Autowired
     private EmailService emailService;
 
-    @Transactional
+    // Changes by user id go through PointsStripes: on the user's lane when it is enabled
+    // and the caller has no transaction, otherwise inline in the caller's transaction
     public boolean deductPoints(Long userId, Long points, String reason, Long bookingId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
+        return pointsStripes.execute(userId, () -> {
+            Optional<Long> newPoints = pointsLedger.apply(userId, -points, reason);
+            if (newPoints.isEmpty()) {
+                if (!userRepository.existsById(userId)) {
+                    throw new RuntimeException("User not found");
+                }
+                return false;
+            }
+
+            // NOTE: Individual email DISABLED for booking-related deductions
+            // BookingService now sends consolidated invoice email with all details
+            // Only send email for non-booking related deductions (when bookingId is null)
+            if (bookingId == null) {
+                userRepository.findById(userId).ifPresent(user ->
+                    sendPointsEmail(user, -points.intValue(), "Redeemed", reason, newPoints.get().intValue()));
+            }
+            return true;
+        });
+    }
 
-        User user = userOpt.get();
-        if (user.getPoints() < points) {
+    /**
+     * Deduct from a user the caller already loaded (and usually locked) in this
+     * transaction; the entity is given the new balance
+     */
+    @Transactional
+    public boolean deductPoints(User user, Long points, String reason, Long bookingId) {
+        Optional<Long> newPoints = pointsLedger.apply(user.getId(), -points, reason);
+        if (newPoints.isEmpty()) {
             return false;
         }
+        user.setPoints(newPoints.get());
 
-        Long previousPoints = user.getPoints();
-        Long newPoints = previousPoints - points;
-        user.setPoints(newPoints);
-        userRepository.save(user);
-
-        PointHistory history = PointHistory.builder()
-                .userId(userId)
-                .pointsChanged(-points) // Negative for deduction, using EXACT DB field name
-                .reason(reason)
-                .previousPoints(previousPoints)
-                .newPoints(newPoints)
-                .build();
-        pointHistoryRepository.save(history);
-        
-        // NOTE: Individual email DISABLED for booking-related deductions
-        // BookingService now sends consolidated invoice email with all details
-        // Only send email for non-booking related deductions (when bookingId is null)
         if (bookingId == null) {
-            sendPointsEmail(user, -points.intValue(), "Redeemed", reason, newPoints.intValue());
+            sendPointsEmail(user, -points.intValue(), "Redeemed", reason, newPoints.get().intValue());
         }
-
         return true;
     }
 
-    @Transactional
     public void addPoints(Long userId, Long points, String reason, Long bookingId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
-
-        User user = userOpt.get();
-        Long previousPoints = user.getPoints();
-        Long newPoints = previousPoints + points;
-        user.setPoints(newPoints);
-        userRepository.save(user);
-
-        PointHistory history = PointHistory.builder()
-                .userId(userId)
-                .pointsChanged(points) // Positive for addition, using EXACT DB field name
-                .reason(reason)
-                .previousPoints(previousPoints)
-                .newPoints(newPoints)
-                .build();
-        pointHistoryRepository.save(history);
-        
-        // NOTE: Only send email for non-booking related additions (welcome bonus, etc.)
-        if (bookingId == null) {
-            sendPointsEmail(user, points.intValue(), "Earned", reason, newPoints.intValue());
-        }
+        pointsStripes.execute(userId, () -> {
+            Long newPoints = pointsLedger.apply(userId, points, reason)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            // NOTE: Only send email for non-booking related additions (welcome bonus, etc.)
+            if (bookingId == null) {
+                userRepository.findById(userId).ifPresent(user ->
+                    sendPointsEmail(user, points.intValue(), "Earned", reason, newPoints.intValue()));
+            }
+            return newPoints;
+        });
     }
 
-    @Transactional
     public void refundPoints(Long userId, Long points, String reason, Long bookingId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
+        pointsStripes.execute(userId, () -> pointsLedger.apply(userId, points, reason)
+                .orElseThrow(() -> new RuntimeException("User not found")));
 
-        User user = userOpt.get();
-        Long previousPoints = user.getPoints();
-        Long newPoints = previousPoints + points;
-        user.setPoints(newPoints);
-        userRepository.save(user);
-
-        PointHistory history = PointHistory.builder()
-                .userId(userId)
-                .pointsChanged(points) // Using EXACT DB field name
-                .reason(reason)
-                .previousPoints(previousPoints)
-                .newPoints(newPoints)
-                .build();
-        pointHistoryRepository.save(history);
-        
         // NOTE: Individual email DISABLED for booking cancellation refunds
         // BookingService sends consolidated cancellation invoice email instead
     }
 
-    @Transactional
     public User purchasePoints(Long userId, Long pointsAmount, String paymentMethod, String transactionId) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
-
-        User user = userOpt.get();
-        Long previousPoints = user.getPoints();
-        Long newPoints = previousPoints + pointsAmount;
-        user.setPoints(newPoints);
-        user = userRepository.save(user);
-
-        PointHistory history = PointHistory.builder()
-                .userId(userId)
-                .pointsChanged(pointsAmount) // Using correct DB field name
-                .reason("Purchased via " + paymentMethod + " (Transaction: " + transactionId + ")")
-                .previousPoints(previousPoints)
-                .newPoints(newPoints)
-                .build();
-        pointHistoryRepository.save(history);
-
-        return user;
+        return pointsStripes.execute(userId, () -> {
+            Long newPoints = pointsLedger.apply(userId, pointsAmount,
+                    "Purchased via " + paymentMethod + " (Transaction: " + transactionId + ")")
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            user.setPoints(newPoints);
+            return user;
+        });
     }
 
     public List<PointHistory> getUserPointsHistory(Long userId) {
+        pointsStripes.flush(userId);
         return pointHistoryRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
     public Long getUserPoints(Long userId) {
+        // Wait for changes still queued on the user's lane so the balance includes them
+        pointsStripes.flush(userId);
         Optional<User> userOpt = userRepository.findById(userId);
         return userOpt.map(User::getPoints).orElse(0L);
     }
@@ -160,9 +130,13 @@ public class PointsService {
     }
     
     /**
-     * Send points notification email
+     * Send points notification email once the change commits (a lane may redo a batch)
      */
     private void sendPointsEmail(User user, int points, String action, String reason, int newBalance) {
+        TransactionHooks.afterCommit(() -> sendPointsEmailNow(user, points, action, reason, newBalance));
+    }
+
+    private void sendPointsEmailNow(User user, int points, String action, String reason, int newBalance) {
         try {
             String userName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
             emailService.sendPointsNotification(
@@ -0,0 +1,220 @@
+package com.eventvenue.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Per-account serialization of standalone points changes ({@code app.points.stripes.enabled},
+ * off by default).
+ *
+ * Accounts are striped by id onto a fixed set of lanes; each lane is one thread, so
+ * changes to the same account run one after another in the order they were submitted
+ * instead of queueing on the account's row lock, while other accounts proceed on other
+ * lanes. A burst on one lane is coalesced: up to {@code app.points.stripes.batch-size}
+ * queued changes commit in one transaction, and if that fails each is redone in its own
+ * so one bad change cannot sink the others. Callers wait for their own change and get
+ * its result or failure.
+ *
+ * Only changes made outside a transaction reach a lane: point purchases and admin
+ * adjustments. Work submitted while a transaction is open runs inline in that
+ * transaction, so it commits or rolls back with the caller; that covers booking
+ * deductions, cancellation refunds and event refund chunks, which must stay atomic with
+ * their booking and so still serialize on the users row lock. Each lane holds a pool
+ * connection while it commits, so size the pool for the lanes before enabling them.
+ * {@link #flush} lets balance reads wait until the account's queued changes are done.
+ *
+ * Accounts are user ids only; striping vendors is deferred. Vendor earnings, purchases
+ * and Stripe credits are inserts into vendor_credits and take no vendor row lock, while
+ * fees and withdrawals ({@link VendorCredits#spend}) run inside the caller's transaction,
+ * where a lane would run them inline anyway, and serialize on the vendor row lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PointsStripes {
+
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.points.stripes.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.points.stripes.lanes:8}")
+    private int laneCount;
+
+    @Value("${app.points.stripes.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.points.stripes.batch-size:32}")
+    private int batchSize;
+
+    @Value("${app.points.stripes.flush-wait-ms:2000}")
+    private long flushWaitMs;
+
+    private Lane[] lanes;
+
+    // work == null marks a flush barrier
+    private record Command(Supplier<?> work, CompletableFuture<Object> future) {}
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i);
+            lanes[i].thread.start();
+        }
+        log.info("Points stripes enabled with {} lanes, batch size {}", laneCount, batchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (lanes != null) {
+            for (Lane lane : lanes) {
+                lane.thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Run a change to an account's points on the account's lane and wait for it.
+     * Runtime failures of the work are rethrown to the caller.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Long accountId, Supplier<T> work) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return inline(work);
+        }
+        Command command = new Command(work, new CompletableFuture<>());
+        if (!lane(accountId).queue.offer(command)) {
+            throw new RuntimeException("Points are busy, please try again shortly");
+        }
+        try {
+            return (T) command.future().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a points update");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Wait (up to {@code app.points.stripes.flush-wait-ms}) until every change queued for
+     * the account before this call is done. Does nothing inside a transaction, where
+     * waiting on a lane could wait on a row lock the caller holds.
+     */
+    public void flush(Long accountId) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        Command barrier = new Command(null, new CompletableFuture<>());
+        if (!lane(accountId).queue.offer(barrier)) {
+            return;
+        }
+        try {
+            barrier.future().get(flushWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // read what is committed so far
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> T inline(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private Lane lane(Long accountId) {
+        return lanes[Math.floorMod(accountId.hashCode(), lanes.length)];
+    }
+
+    private final class Lane {
+        final BlockingQueue<Command> queue = new LinkedBlockingQueue<>(capacity);
+        final Thread thread;
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        Lane(int index) {
+            this.thread = new Thread(this::run, "points-lane-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        void run() {
+            List<Command> drained = new ArrayList<>(batchSize);
+            List<Command> batch = new ArrayList<>(batchSize);
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    drained.add(queue.take());
+                    queue.drainTo(drained, batchSize - 1);
+                    // A barrier completes only once everything queued before it has committed
+                    for (Command command : drained) {
+                        if (command.work() == null) {
+                            process(batch);
+                            batch.clear();
+                            command.future().complete(null);
+                        } else {
+                            batch.add(command);
+                        }
+                    }
+                    process(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.error("Points lane failed on a batch", e);
+                    drained.forEach(command -> command.future().completeExceptionally(e));
+                } finally {
+                    drained.clear();
+                    batch.clear();
+                }
+            }
+            List<Command> left = new ArrayList<>();
+            queue.drainTo(left);
+            left.forEach(command -> command.future().completeExceptionally(
+                    new RuntimeException("Points lanes are shutting down")));
+        }
+
+        void process(List<Command> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Object> results = new ArrayList<>(batch.size());
+            try {
+                transaction.executeWithoutResult(status -> {
+                    for (Command command : batch) {
+                        results.add(command.work().get());
+                    }
+                });
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).future().complete(results.get(i));
+                }
+            } catch (RuntimeException batchFailure) {
+                for (Command command : batch) {
+                    try {
+                        command.future().complete(transaction.execute(status -> command.work().get()));
+                    } catch (RuntimeException e) {
+                        command.future().completeExceptionally(e);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.eventvenue.service;
+
+import com.eventvenue.service.BookingService.BookingCalculationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived booking cost quotes, so /calculate-cost does not reload the venue or
+ * event and the conversion rate on every keystroke.
+ *
+ * Quotes are keyed by what they were priced from plus a price stamp: the version of
+ * the conversion rate and of the venue's or event's price. Changing either bumps its
+ * version once the change commits, so older quotes stop matching. Every quote carries
+ * a token that createBookingWithPoints can redeem for the priced points instead of
+ * pricing again, as long as the stamp still holds and the quote is younger than
+ * {@code app.quote-cache.ttl-ms}. Versions are kept per node; the TTL bounds how long
+ * another node's price change can go unnoticed.
+ */
+@Component
+public class QuoteCache {
+
+    @Value("${app.quote-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${app.quote-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final AtomicLong conversionRateVersion = new AtomicLong();
+    private final Map<Long, AtomicLong> venueVersions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> eventVersions = new ConcurrentHashMap<>();
+
+    // Oldest dropped first; both guarded by quotesByKey
+    private final Map<Key, Quote> quotesByKey = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Quote> eldest) {
+            if (size() > maxEntries) {
+                quotesByToken.remove(eldest.getValue().token());
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<String, Quote> quotesByToken = new LinkedHashMap<>();
+
+    /**
+     * What a quote was priced from; null units and points count as 1 and 0 like the
+     * pricing does.
+     */
+    public record Key(Long venueId, Long eventId, int durationHours, int quantity, int pointsToUse) {
+        public static Key of(Long venueId, Long eventId, Integer durationHours, Integer quantity, Integer pointsToUse) {
+            return new Key(venueId, eventId,
+                    durationHours != null ? durationHours : 1,
+                    quantity != null ? quantity : 1,
+                    pointsToUse != null ? pointsToUse : 0);
+        }
+
+        boolean samePricing(Key other) {
+            return Objects.equals(venueId, other.venueId) && Objects.equals(eventId, other.eventId)
+                    && durationHours == other.durationHours && quantity == other.quantity;
+        }
+    }
+
+    /**
+     * Price versions a quote was computed under.
+     */
+    public record Stamp(long conversionRate, long venue, long event) {}
+
+    public record Quote(String token, Key key, Stamp stamp, BookingCalculationResult result,
+                        int conversionRate, long pointsNeeded, long createdAt) {}
+
+    public Stamp stamp(Long venueId, Long eventId) {
+        return new Stamp(conversionRateVersion.get(), version(venueVersions, venueId), version(eventVersions, eventId));
+    }
+
+    public Optional<Quote> find(Key key, Stamp stamp) {
+        synchronized (quotesByKey) {
+            Quote quote = quotesByKey.get(key);
+            return isValid(quote, stamp) ? Optional.of(quote) : Optional.empty();
+        }
+    }
+
+    /**
+     * Store a freshly computed quote under the stamp read before computing it.
+     */
+    public Quote put(Key key, Stamp stamp, BookingCalculationResult result, int conversionRate, long pointsNeeded) {
+        Quote quote = new Quote(UUID.randomUUID().toString(), key, stamp, result, conversionRate,
+                pointsNeeded, System.currentTimeMillis());
+        synchronized (quotesByKey) {
+            Quote previous = quotesByKey.put(key, quote);
+            if (previous != null) {
+                quotesByToken.remove(previous.token());
+            }
+            quotesByToken.put(quote.token(), quote);
+        }
+        return quote;
+    }
+
+    /**
+     * A still valid quote for the token, if it priced the same venue/event and units.
+     */
+    public Optional<Quote> redeem(String token, Key key) {
+        Quote quote;
+        synchronized (quotesByKey) {
+            quote = quotesByToken.get(token);
+        }
+        if (quote == null || !quote.key().samePricing(key)) {
+            return Optional.empty();
+        }
+        return isValid(quote, stamp(key.venueId(), key.eventId())) ? Optional.of(quote) : Optional.empty();
+    }
+
+    public void venuePriceChanged(Long venueId) {
+        TransactionHooks.afterCommit(() ->
+                venueVersions.computeIfAbsent(venueId, id -> new AtomicLong()).incrementAndGet());
+    }
+
+    public void eventPriceChanged(Long eventId) {
+        TransactionHooks.afterCommit(() ->
+                eventVersions.computeIfAbsent(eventId, id -> new AtomicLong()).incrementAndGet());
+    }
+
+    public void conversionRateChanged() {
+        TransactionHooks.afterCommit(conversionRateVersion::incrementAndGet);
+    }
+
+    private boolean isValid(Quote quote, Stamp stamp) {
+        return quote != null
+                && quote.stamp().equals(stamp)
+                && System.currentTimeMillis() - quote.createdAt() <= ttlMs;
+    }
+
+    private static long version(Map<Long, AtomicLong> versions, Long id) {
+        AtomicLong version = id != null ? versions.get(id) : null;
+        return version != null ? version.get() : 0;
+    }
+}
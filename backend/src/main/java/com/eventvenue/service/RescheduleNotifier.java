@@ -0,0 +1,133 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.User;
+import com.eventvenue.repository.BookingRepository;
+import com.eventvenue.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emails everyone holding a booking for an event that was rescheduled.
+ *
+ * Once the reschedule commits, a background thread pages through the event's distinct
+ * attendee user ids ({@code app.reschedule-notify.page-size} per query, keyset on user
+ * id, so a user with several bookings gets one email), loads each page of users with
+ * one findAllById and hands one message per user to the sender pool. The pool's queue
+ * holds at most {@code app.reschedule-notify.queue-size} messages; when it is full the
+ * pager waits for the senders, so memory stays the same however many people are
+ * booked.
+ */
+@Component
+@Slf4j
+public class RescheduleNotifier {
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final ExecutorService pager;
+    private final ThreadPoolExecutor senders;
+
+    @Value("${app.reschedule-notify.page-size:500}")
+    private int pageSize;
+
+    public RescheduleNotifier(BookingRepository bookingRepository,
+                              UserRepository userRepository,
+                              EmailService emailService,
+                              @Value("${app.reschedule-notify.senders:4}") int senderCount,
+                              @Value("${app.reschedule-notify.queue-size:1000}") int queueSize) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.pager = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reschedule-notify-pager");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.senders = new ThreadPoolExecutor(senderCount, senderCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "reschedule-notify-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> {
+                    // Queue full: make the pager wait instead of dropping or buffering more
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Reschedule notifier is shut down");
+                    }
+                    try {
+                        executor.getQueue().put(runnable);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while queueing a reschedule email", e);
+                    }
+                });
+    }
+
+    /**
+     * Notify the event's attendees once the current transaction commits.
+     */
+    public void notifyAttendees(Long eventId, String eventName,
+                                LocalDateTime oldDate, LocalTime oldTime, String oldLocation,
+                                LocalDateTime newDate, LocalTime newTime, String newLocation,
+                                String reason) {
+        Notice notice = new Notice(eventName,
+                oldDate != null ? oldDate.toString() : "N/A",
+                oldTime != null ? oldTime.toString() : "N/A",
+                oldLocation,
+                newDate != null ? newDate.toString() : "N/A",
+                newTime != null ? newTime.toString() : "N/A",
+                newLocation != null ? newLocation : oldLocation,
+                reason);
+        TransactionHooks.afterCommit(() -> pager.execute(() -> fanOut(eventId, notice)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pager.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void fanOut(Long eventId, Notice notice) {
+        long queued = 0;
+        try {
+            Long afterUserId = 0L;
+            List<Long> userIds;
+            do {
+                userIds = bookingRepository.findAttendeeUserIds(eventId, afterUserId, PageRequest.of(0, pageSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                for (User user : userRepository.findAllById(userIds)) {
+                    String userName = user.getFirstName() != null ? user.getFirstName() : user.getUsername();
+                    senders.execute(() -> emailService.sendEventRescheduleNotificationNow(
+                            user.getEmail(), userName, notice.eventName(),
+                            notice.oldDate(), notice.oldTime(), notice.oldLocation(),
+                            notice.newDate(), notice.newTime(), notice.newLocation(), notice.reason()));
+                    queued++;
+                }
+                afterUserId = userIds.get(userIds.size() - 1);
+            } while (userIds.size() == pageSize);
+            log.info("Queued reschedule notifications for event {} to {} attendees", eventId, queued);
+        } catch (Exception e) {
+            log.error("Reschedule notifications for event {} stopped after {} attendees: {}",
+                    eventId, queued, e.getMessage());
+        }
+    }
+
+    private record Notice(String eventName, String oldDate, String oldTime, String oldLocation,
+                          String newDate, String newTime, String newLocation, String reason) {}
+}
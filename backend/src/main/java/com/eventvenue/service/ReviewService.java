@@ -1,5 +1,6 @@
 package com.eventvenue.service;
 
+import com.eventvenue.dto.CursorPage;
 import com.eventvenue.dto.ReviewDTO;
 import com.eventvenue.entity.Review;
 import com.eventvenue.entity.Venue;
@@ -13,12 +14,12 @@ import com.eventvenue.repository.EventRepository;
 import com.eventvenue.repository.BookingRepository;
 import com.eventvenue.repository.UserRepository;
 import com.eventvenue.repository.VendorRepository;
+import com.eventvenue.repository.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.ArrayList;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +27,9 @@ public class ReviewService {
 
     @Autowired
     private ReviewRepository reviewRepository;
+    
+    @Autowired
+    private KeysetPager keysetPager;
 
     @Autowired
     private VenueRepository venueRepository;
@@ -292,69 +296,89 @@ public class ReviewService {
     
     // Convert single review to DTO with all details
     public ReviewDTO convertToDTO(Review review) {
-        ReviewDTO dto = ReviewDTO.builder()
-                .id(review.getId())
-                .rating(review.getRating())
-                .comment(review.getComment())
-                .createdAt(review.getCreatedAt())
-                .updatedAt(review.getUpdatedAt())
-                .userId(review.getUserId())
-                .venueId(review.getVenueId())
-                .eventId(review.getEventId())
-                .build();
+        return convertToDTOs(List.of(review)).get(0);
+    }
+    
+    // Convert reviews to DTOs, loading their users, venues, events and vendors in one
+    // query each instead of per review
+    public List<ReviewDTO> convertToDTOs(List<Review> reviews) {
+        Map<Long, User> users = byId(userRepository.findAllById(ids(reviews, Review::getUserId)), User::getId);
+        Map<Long, Venue> venues = byId(venueRepository.findAllById(ids(reviews, Review::getVenueId)), Venue::getId);
+        Map<Long, Event> events = byId(eventRepository.findAllById(ids(reviews, Review::getEventId)), Event::getId);
+        Set<Long> vendorIds = new HashSet<>(ids(venues.values(), Venue::getVendorId));
+        vendorIds.addAll(ids(events.values(), Event::getVendorId));
+        Map<Long, Vendor> vendors = byId(vendorRepository.findAllById(vendorIds), Vendor::getId);
         
-        // Get user info
-        if (review.getUserId() != null) {
-            userRepository.findById(review.getUserId()).ifPresent(user -> {
+        List<ReviewDTO> dtos = new ArrayList<>(reviews.size());
+        for (Review review : reviews) {
+            ReviewDTO dto = ReviewDTO.builder()
+                    .id(review.getId())
+                    .rating(review.getRating())
+                    .comment(review.getComment())
+                    .createdAt(review.getCreatedAt())
+                    .updatedAt(review.getUpdatedAt())
+                    .userId(review.getUserId())
+                    .venueId(review.getVenueId())
+                    .eventId(review.getEventId())
+                    .build();
+            
+            // Get user info
+            User user = users.get(review.getUserId());
+            if (user != null) {
                 String userName = user.getFirstName() != null ? 
                     user.getFirstName() + " " + (user.getLastName() != null ? user.getLastName() : "") :
                     user.getEmail();
                 dto.setUserName(userName.trim());
                 dto.setUserEmail(user.getEmail());
-            });
-        }
-        
-        // Get venue info and vendor
-        if (review.getVenueId() != null) {
-            venueRepository.findById(review.getVenueId()).ifPresent(venue -> {
+            }
+            
+            // Get venue info and vendor
+            Venue venue = venues.get(review.getVenueId());
+            if (venue != null) {
                 dto.setVenueName(venue.getName());
                 dto.setVendorId(venue.getVendorId());
-                
-                // Get vendor info
-                vendorRepository.findById(venue.getVendorId()).ifPresent(vendor -> {
+                Vendor vendor = vendors.get(venue.getVendorId());
+                if (vendor != null) {
                     dto.setVendorName(vendor.getBusinessName());
-                });
-            });
-        }
-        
-        // Get event info and vendor
-        if (review.getEventId() != null) {
-            eventRepository.findById(review.getEventId()).ifPresent(event -> {
+                }
+            }
+            
+            // Get event info and vendor
+            Event event = events.get(review.getEventId());
+            if (event != null) {
                 dto.setEventName(event.getName());
                 dto.setVendorId(event.getVendorId());
-                
-                // Get vendor info
-                vendorRepository.findById(event.getVendorId()).ifPresent(vendor -> {
+                Vendor vendor = vendors.get(event.getVendorId());
+                if (vendor != null) {
                     dto.setVendorName(vendor.getBusinessName());
-                });
-            });
+                }
+            }
+            dtos.add(dto);
         }
-        
-        return dto;
+        return dtos;
+    }
+    
+    private static <T> Set<Long> ids(Collection<T> rows, Function<T, Long> id) {
+        return rows.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+    
+    private static <T> Map<Long, T> byId(List<T> rows, Function<T, Long> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity()));
     }
     
-    // Get all reviews with detailed info
+    // Get all reviews with detailed info. Unbounded; the list endpoints use the paged variant
+    @Deprecated
     public List<ReviewDTO> getAllReviewsDetailed() {
-        return reviewRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(reviewRepository.findAll());
+    }
+    
+    public CursorPage<ReviewDTO> getAllReviewsDetailed(String cursor, Integer limit) {
+        CursorPage<Review> page = keysetPager.page(Review.class, cursor, limit, Review::getCreatedAt, Review::getId);
+        return new CursorPage<>(convertToDTOs(page.getItems()), page.getNextCursor(), page.getLimit());
     }
     
     // Get vendor reviews with detailed info
     public List<ReviewDTO> getVendorReviewsDetailed(Long vendorId) {
-        List<Review> allReviews = getVendorReviews(vendorId);
-        return allReviews.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(getVendorReviews(vendorId));
     }
 }
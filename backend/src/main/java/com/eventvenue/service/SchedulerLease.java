@@ -0,0 +1,62 @@
+package com.eventvenue.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Named leases in scheduler_leases, so a scheduled job runs on one node at a time.
+ *
+ * A lease is taken with one upsert that only succeeds if nobody holds it or the
+ * holder's lease ran out; the holder extends it by acquiring again. Expiry is
+ * compared on the database clock, so node clocks do not have to agree. A node that
+ * dies mid-run blocks the job for at most the lease duration.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLease {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String owner = hostName() + "/" + UUID.randomUUID();
+
+    /**
+     * Take or extend the lease for {@code duration}. False if another node holds it.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        int updated = jdbcTemplate.update(
+                "INSERT INTO scheduler_leases (name, owner, expires_at) " +
+                "VALUES (?, ?, LOCALTIMESTAMP + ? * INTERVAL '1 millisecond') " +
+                "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at " +
+                "WHERE scheduler_leases.owner = EXCLUDED.owner OR scheduler_leases.expires_at < LOCALTIMESTAMP",
+                name, owner, duration.toMillis());
+        return updated == 1;
+    }
+
+    /**
+     * Give the lease up early so the next run can start on any node.
+     */
+    public void release(String name) {
+        try {
+            jdbcTemplate.update(
+                    "UPDATE scheduler_leases SET expires_at = LOCALTIMESTAMP WHERE name = ? AND owner = ?",
+                    name, owner);
+        } catch (Exception e) {
+            log.warn("Could not release lease {}: {}", name, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
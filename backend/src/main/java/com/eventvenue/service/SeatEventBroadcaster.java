@@ -0,0 +1,223 @@
+package com.eventvenue.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live seat status stream (Server-Sent Events).
+ *
+ * Watchers are SseEmitters in a per-event set, so an idle watcher costs no thread and no
+ * query. Each watcher has its own bounded queue of frames. Publishing serializes a change
+ * once and offers the same frame to every watcher's queue without blocking; a watcher's
+ * queue is written out by a drain task on the sender pool, one task per watcher at a
+ * time, so a slow client only delays itself. A watcher whose queue is full has fallen
+ * behind and is disconnected; it reconnects and recovers with the compact layout
+ * endpoint using the last epoch and version it saw. The registry is bounded as well:
+ * extra watchers are refused.
+ */
+@Component
+@Slf4j
+public class SeatEventBroadcaster {
+
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders;
+
+    @Value("${app.seat-stream.max-subscribers-per-event:5000}")
+    private int maxPerEvent;
+
+    @Value("${app.seat-stream.max-subscribers:20000}")
+    private int maxTotal;
+
+    @Value("${app.seat-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.seat-stream.queue-size:64}")
+    private int queueSize;
+
+    public SeatEventBroadcaster(ObjectMapper objectMapper,
+                                @Value("${app.seat-stream.senders:4}") int senderCount) {
+        this.objectMapper = objectMapper;
+        this.senders = Executors.newFixedThreadPool(senderCount, runnable -> {
+            Thread thread = new Thread(runnable, "seat-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a watcher for an event. Throws when the registry is full.
+     */
+    public SseEmitter subscribe(Long eventId, String epoch, long currentVersion) {
+        if (subscriberCount.incrementAndGet() > maxTotal) {
+            subscriberCount.decrementAndGet();
+            throw new RuntimeException("Too many live seat watchers, please poll the seat layout instead");
+        }
+
+        Subscriber subscriber = new Subscriber(eventId, new SseEmitter(timeoutMs));
+        // The init frame is queued before the watcher is visible, so it always goes first
+        subscriber.queue.offer(SseEmitter.event()
+                .name("init")
+                .id(epoch + "-" + currentVersion)
+                .data(json(Map.of("eventId", eventId, "epoch", epoch, "version", currentVersion)))
+                .build());
+
+        boolean[] added = {false};
+        subscribers.compute(eventId, (id, watchers) -> {
+            if (watchers == null) {
+                watchers = ConcurrentHashMap.newKeySet();
+            }
+            if (watchers.size() < maxPerEvent) {
+                added[0] = watchers.add(subscriber);
+            }
+            return watchers.isEmpty() ? null : watchers;
+        });
+        if (!added[0]) {
+            subscriberCount.decrementAndGet();
+            throw new RuntimeException("Too many live seat watchers for this event, please poll the seat layout instead");
+        }
+
+        Runnable remove = () -> remove(subscriber);
+        subscriber.emitter.onCompletion(remove);
+        subscriber.emitter.onTimeout(remove);
+        subscriber.emitter.onError(e -> remove.run());
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Queue a committed seat change for every watcher of the event. Never blocks; callers
+     * publish in version order, and each watcher receives frames in the order queued.
+     */
+    public void publish(Long eventId, String epoch, long version, String status, Collection<Long> seatIds) {
+        Set<Subscriber> watchers = subscribers.get(eventId);
+        if (watchers == null || watchers.isEmpty()) {
+            return;
+        }
+        String payload = json(Map.of(
+                "eventId", eventId,
+                "epoch", epoch,
+                "version", version,
+                "type", "AVAILABLE".equals(status) ? "RELEASED" : status,
+                "seatIds", List.copyOf(seatIds)));
+        // Build the frame once; every watcher gets the same bytes
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                .name("seats")
+                .id(epoch + "-" + version)
+                .data(payload)
+                .build();
+        for (Subscriber subscriber : watchers) {
+            enqueue(subscriber, frame);
+        }
+    }
+
+    public boolean hasSubscribers(Long eventId) {
+        return subscribers.containsKey(eventId);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Keep idle connections open through proxies and notice watchers that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.seat-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (subscriberCount.get() == 0) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> keepalive = SseEmitter.event().comment("keepalive").build();
+        subscribers.values().forEach(watchers -> watchers.forEach(subscriber -> enqueue(subscriber, keepalive)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.values().forEach(watchers -> watchers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (!subscriber.queue.offer(frame)) {
+            log.debug("Seat watcher of event {} fell behind, disconnecting", subscriber.eventId);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    /**
+     * Start a drain task for the watcher unless one is already running.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false); // shutting down
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while ((frame = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(frame);
+            }
+        } catch (Exception e) {
+            remove(subscriber);
+            subscriber.queue.clear();
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A frame queued after the last poll but before draining was cleared
+        if (!subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.eventId, (id, watchers) -> {
+            if (watchers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class Subscriber {
+        final Long eventId;
+        final SseEmitter emitter;
+        final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayBlockingQueue<>(queueSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Long eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+        }
+    }
+}
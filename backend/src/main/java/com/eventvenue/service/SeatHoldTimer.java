@@ -0,0 +1,88 @@
+package com.eventvenue.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Hashed timing wheel for seat hold expirations.
+ *
+ * Each hold is dropped into the bucket for its deadline tick, so advancing the
+ * clock only touches the buckets that came due instead of scanning event_seats.
+ * Holds whose deadline is more than one rotation away stay in their bucket until
+ * the wheel comes round again.
+ */
+@Component
+public class SeatHoldTimer {
+
+    public record Expiry(Long eventId, List<Long> seatIds) {}
+
+    private record Entry(Long eventId, List<Long> seatIds, long deadlineTick) {}
+
+    private final long tickMs;
+    private final ArrayDeque<Entry>[] wheel;
+    private final int mask;
+    private long lastTick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SeatHoldTimer(@Value("${app.seat-hold.tick-ms:1000}") long tickMs,
+                         @Value("${app.seat-hold.wheel-size:512}") int wheelSize) {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1; // round up to a power of two
+        this.tickMs = tickMs;
+        this.wheel = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ArrayDeque<>();
+        }
+        this.mask = size - 1;
+        this.lastTick = System.currentTimeMillis() / tickMs;
+    }
+
+    /**
+     * Schedule the seats of one hold to expire at {@code deadline}.
+     */
+    public synchronized void schedule(Long eventId, Collection<Long> seatIds, LocalDateTime deadline) {
+        long deadlineMs = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long tick = Math.max((deadlineMs + tickMs - 1) / tickMs, lastTick + 1);
+        wheel[(int) (tick & mask)].add(new Entry(eventId, List.copyOf(seatIds), tick));
+    }
+
+    /**
+     * Advance the wheel to {@code nowMs} and return the holds that came due,
+     * grouped by event.
+     */
+    public synchronized List<Expiry> advance(long nowMs) {
+        long nowTick = nowMs / tickMs;
+        if (nowTick <= lastTick) {
+            return List.of();
+        }
+        // After a long pause every bucket is due at most once
+        long from = Math.max(lastTick + 1, nowTick - mask);
+        Map<Long, List<Long>> due = new LinkedHashMap<>();
+        for (long tick = from; tick <= nowTick; tick++) {
+            Iterator<Entry> it = wheel[(int) (tick & mask)].iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.deadlineTick() <= nowTick) {
+                    due.computeIfAbsent(entry.eventId(), id -> new ArrayList<>()).addAll(entry.seatIds());
+                    it.remove();
+                }
+            }
+        }
+        lastTick = nowTick;
+
+        List<Expiry> expired = new ArrayList<>(due.size());
+        due.forEach((eventId, ids) -> expired.add(new Expiry(eventId, ids)));
+        return expired;
+    }
+
+    public synchronized int pendingCount() {
+        int count = 0;
+        for (ArrayDeque<Entry> bucket : wheel) {
+            count += bucket.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,154 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.EventSeat;
+import com.eventvenue.entity.SeatCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Bulk seat layout builder.
+ *
+ * The new category layout is diffed against the event's existing seats in memory,
+ * and the resulting inserts, updates and deletes are sent as JDBC batches.
+ * EventSeat uses IDENTITY ids, so Hibernate cannot batch these inserts itself.
+ * Existing seats keep their ids, so clients holding seat ids are not invalidated
+ * by a category or price change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatLayoutBuilder {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO event_seats (event_id, category_id, row_label, seat_number, status, price, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, 'AVAILABLE', ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE event_seats SET category_id = ?, price = ?, updated_at = ? WHERE id = ?";
+    private static final String DELETE_SQL =
+            "DELETE FROM event_seats WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.seat-layout.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Seat position the new layout wants, with the category that owns it.
+     */
+    public record DesiredSeat(String rowLabel, int seatNumber, Long categoryId, BigDecimal price) {}
+
+    public record SeatUpdate(Long seatId, Long categoryId, BigDecimal price) {}
+
+    /**
+     * Result of diffing a layout against the existing seats.
+     */
+    public record Plan(List<DesiredSeat> inserts, List<SeatUpdate> updates, List<Long> deletes,
+                       int totalSeats, int bookedSeats) {}
+
+    /**
+     * Expand categories into seat positions. A row claimed by more than one
+     * category belongs to the first one, matching {@link SeatMap}.
+     */
+    public static List<DesiredSeat> expand(List<SeatCategory> categories, List<List<String>> categoryRows) {
+        List<DesiredSeat> desired = new ArrayList<>();
+        Set<String> claimedRows = new HashSet<>();
+        for (int c = 0; c < categories.size(); c++) {
+            SeatCategory category = categories.get(c);
+            for (String row : categoryRows.get(c)) {
+                if (!claimedRows.add(row)) {
+                    continue;
+                }
+                for (int seatNum = 1; seatNum <= category.getSeatsPerRow(); seatNum++) {
+                    desired.add(new DesiredSeat(row, seatNum, category.getId(), category.getPrice()));
+                }
+            }
+        }
+        return desired;
+    }
+
+    /**
+     * Diff the desired layout against the existing seats. Booked seats must stay in
+     * the layout; any other seat that is no longer wanted is deleted.
+     */
+    public static Plan diff(List<DesiredSeat> desired, List<EventSeat> existing) {
+        Map<String, EventSeat> byPosition = new HashMap<>(existing.size() * 2);
+        for (EventSeat seat : existing) {
+            byPosition.put(seat.getRowLabel() + "-" + seat.getSeatNumber(), seat);
+        }
+
+        List<DesiredSeat> inserts = new ArrayList<>();
+        List<SeatUpdate> updates = new ArrayList<>();
+        int booked = 0;
+        for (DesiredSeat want : desired) {
+            EventSeat seat = byPosition.remove(want.rowLabel() + "-" + want.seatNumber());
+            if (seat == null) {
+                inserts.add(want);
+                continue;
+            }
+            if ("BOOKED".equals(seat.getStatus())) {
+                booked++;
+            }
+            if (!want.categoryId().equals(seat.getCategoryId())
+                    || seat.getPrice() == null || want.price().compareTo(seat.getPrice()) != 0) {
+                updates.add(new SeatUpdate(seat.getId(), want.categoryId(), want.price()));
+            }
+        }
+
+        // Whatever is left is not part of the new layout
+        List<String> droppedBooked = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>(byPosition.size());
+        for (EventSeat seat : byPosition.values()) {
+            if ("BOOKED".equals(seat.getStatus())) {
+                droppedBooked.add(seat.getRowLabel() + seat.getSeatNumber());
+            } else {
+                deletes.add(seat.getId());
+            }
+        }
+        if (!droppedBooked.isEmpty()) {
+            Collections.sort(droppedBooked);
+            throw new RuntimeException("The new layout removes booked seats: "
+                    + String.join(", ", droppedBooked.subList(0, Math.min(10, droppedBooked.size())))
+                    + (droppedBooked.size() > 10 ? " and " + (droppedBooked.size() - 10) + " more" : ""));
+        }
+
+        return new Plan(inserts, updates, deletes, desired.size(), booked);
+    }
+
+    /**
+     * Apply a plan inside the caller's transaction.
+     */
+    public void apply(Long eventId, Plan plan) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(DELETE_SQL, plan.deletes(), batchSize,
+                (ps, seatId) -> ps.setLong(1, seatId));
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, plan.updates(), batchSize, (ps, update) -> {
+            ps.setLong(1, update.categoryId());
+            ps.setBigDecimal(2, update.price());
+            ps.setTimestamp(3, now);
+            ps.setLong(4, update.seatId());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, plan.inserts(), batchSize, (ps, seat) -> {
+            ps.setLong(1, eventId);
+            ps.setLong(2, seat.categoryId());
+            ps.setString(3, seat.rowLabel());
+            ps.setInt(4, seat.seatNumber());
+            ps.setBigDecimal(5, seat.price());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+
+        log.info("Applied seat layout for event {}: {} inserted, {} updated, {} deleted",
+                eventId, plan.inserts().size(), plan.updates().size(), plan.deletes().size());
+    }
+}
@@ -0,0 +1,584 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.EventSeat;
+import com.eventvenue.entity.SeatCategory;
+
+import java.util.*;
+
+/**
+ * Primitive-backed seat state for a single event.
+ *
+ * The grid is laid out from the seat categories (rows x seatsPerRow, in sortOrder),
+ * so a seat is addressed by (row index, seatNumber) and lives at a fixed slot in
+ * the status/id arrays. Seat IDs are resolved through a sorted long[] so that no
+ * boxed map is needed on the booking path.
+ *
+ * Every committed status change bumps the map's layout version and is recorded in
+ * a bounded change log, so clients that already hold a version can be sent only
+ * the seats that changed since.
+ *
+ * Instances are built by {@link SeatMapEngine}; all mutation goes through it.
+ */
+public final class SeatMap {
+
+    public static final byte AVAILABLE = 0;
+    public static final byte BOOKED = 1;
+    public static final byte BLOCKED = 2;
+    public static final byte HELD = 3;
+
+    private static final String[] STATUS_NAMES = {"AVAILABLE", "BOOKED", "BLOCKED", "HELD"};
+
+    static final int CHANGE_LOG_SIZE = 4096;
+
+    private final Long eventId;
+    private final String epoch;
+    private final List<Map<String, Object>> categoryList;
+    private final long[] categoryIds;
+
+    // Row geometry: seats of row r occupy slots [rowStart[r], rowStart[r + 1])
+    private final String[] rowLabels;
+    private final int[] rowStart;
+    private final int[] rowCategory; // -1 for rows no current category claims
+    private final int[] rowDisplayOrder; // rows sorted by label, matching the legacy DB ordering of toLayout
+
+    // Per-slot state; seatIds[i] == 0 means the slot has no backing event_seats row
+    private final long[] seatIds;
+    private final byte[] status;
+    private final Object[] seatPrices;
+    private final long[] seatCategoryIds;
+
+    // Free-run index for the best-available finder: per row, [start, length] pairs of
+    // contiguous AVAILABLE slots, split at aisles; rebuilt lazily for dirty rows
+    private final boolean[] aisleAfterSlot;
+    private final int[][] rowsByCategory; // row indexes per category, front to back as the category lists them
+    private final int[][] freeRuns;
+    private final boolean[] freeRunsDirty;
+
+    // id -> slot lookup
+    private final long[] sortedIds;
+    private final int[] sortedSlots;
+
+    private final long loadedAt;
+    private Map<String, Object> cachedLayout;
+    private Map<String, Object> cachedCompactLayout;
+
+    // Layout version and a ring buffer of (version, slot) changes; versions above
+    // changeLogFloor are fully covered by the log
+    private long version;
+    private long changeLogFloor;
+    private final long[] changeVersions = new long[CHANGE_LOG_SIZE];
+    private final int[] changeSlots = new int[CHANGE_LOG_SIZE];
+    private int changeCount;
+    private int changeHead;
+
+    private SeatMap(Long eventId, String epoch, List<Map<String, Object>> categoryList, long[] categoryIds,
+                    String[] rowLabels, int[] rowStart, int[] rowCategory, long[] seatIds, byte[] status,
+                    Object[] seatPrices, long[] seatCategoryIds, boolean[] aisleAfterSlot) {
+        this.eventId = eventId;
+        this.epoch = epoch;
+        this.categoryList = categoryList;
+        this.categoryIds = categoryIds;
+        this.rowLabels = rowLabels;
+        this.rowStart = rowStart;
+        this.rowCategory = rowCategory;
+        this.seatIds = seatIds;
+        this.status = status;
+        this.seatPrices = seatPrices;
+        this.seatCategoryIds = seatCategoryIds;
+        this.aisleAfterSlot = aisleAfterSlot;
+        this.loadedAt = System.currentTimeMillis();
+
+        Integer[] order = new Integer[rowLabels.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(r -> rowLabels[r]));
+        this.rowDisplayOrder = new int[order.length];
+        for (int i = 0; i < order.length; i++) rowDisplayOrder[i] = order[i];
+
+        int[] perCategory = new int[categoryIds.length];
+        for (int c : rowCategory) if (c >= 0) perCategory[c]++;
+        this.rowsByCategory = new int[categoryIds.length][];
+        for (int c = 0; c < categoryIds.length; c++) rowsByCategory[c] = new int[perCategory[c]];
+        int[] filled = new int[categoryIds.length];
+        // Row indexes follow each category's rows list, which is front to back; sorting
+        // labels would put "10" before "2" and "AA" before "B"
+        for (int r = 0; r < rowCategory.length; r++) {
+            if (rowCategory[r] >= 0) {
+                rowsByCategory[rowCategory[r]][filled[rowCategory[r]]++] = r;
+            }
+        }
+        this.freeRuns = new int[rowLabels.length][];
+        this.freeRunsDirty = new boolean[rowLabels.length];
+        Arrays.fill(freeRunsDirty, true);
+
+        int materialized = 0;
+        for (long id : seatIds) if (id != 0) materialized++;
+        long[][] pairs = new long[materialized][];
+        int p = 0;
+        for (int slot = 0; slot < seatIds.length; slot++) {
+            if (seatIds[slot] != 0) pairs[p++] = new long[]{seatIds[slot], slot};
+        }
+        Arrays.sort(pairs, Comparator.comparingLong(a -> a[0]));
+        this.sortedIds = new long[materialized];
+        this.sortedSlots = new int[materialized];
+        for (int i = 0; i < materialized; i++) {
+            sortedIds[i] = pairs[i][0];
+            sortedSlots[i] = (int) pairs[i][1];
+        }
+    }
+
+    /**
+     * Build the grid from categories and overlay the persisted seat rows.
+     * {@code categoryList} is the already-rendered category view for the layout response;
+     * {@code categoryAisles} holds each category's aisleAfter seat numbers. Seats outside
+     * the category layout (a row no category lists, or a seat number past seatsPerRow)
+     * still get a slot, in an extra row or by lengthening the row, so none is lost.
+     * {@code epoch} names the version counter of the node that built the map.
+     */
+    static SeatMap build(Long eventId, String epoch, List<SeatCategory> categories, List<List<String>> categoryRows,
+                         List<List<Integer>> categoryAisles, List<Map<String, Object>> categoryList,
+                         List<EventSeat> seats) {
+        List<String> labels = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        Map<String, Integer> rowIndex = new HashMap<>();
+
+        for (int c = 0; c < categories.size(); c++) {
+            int seatsPerRow = categories.get(c).getSeatsPerRow() != null ? categories.get(c).getSeatsPerRow() : 0;
+            for (String row : categoryRows.get(c)) {
+                if (rowIndex.containsKey(row)) {
+                    continue; // first category claiming a row wins
+                }
+                rowIndex.put(row, labels.size());
+                labels.add(row);
+                lengths.add(seatsPerRow);
+                owners.add(c);
+            }
+        }
+        for (EventSeat seat : seats) {
+            int seatNumber = seat.getSeatNumber() != null ? seat.getSeatNumber() : 0;
+            if (seatNumber < 1) {
+                continue;
+            }
+            Integer r = rowIndex.get(seat.getRowLabel());
+            if (r == null) {
+                r = labels.size();
+                rowIndex.put(seat.getRowLabel(), r);
+                labels.add(seat.getRowLabel());
+                lengths.add(0);
+                owners.add(-1);
+            }
+            if (seatNumber > lengths.get(r)) {
+                lengths.set(r, seatNumber);
+            }
+        }
+
+        int[] rowStart = new int[labels.size() + 1];
+        for (int r = 0; r < labels.size(); r++) {
+            rowStart[r + 1] = rowStart[r] + lengths.get(r);
+        }
+        int[] rowCategory = owners.stream().mapToInt(Integer::intValue).toArray();
+        long[] categoryIds = categories.stream().mapToLong(SeatCategory::getId).toArray();
+
+        long[] seatIds = new long[rowStart[labels.size()]];
+        byte[] status = new byte[seatIds.length];
+        Arrays.fill(status, BLOCKED);
+        Object[] seatPrices = new Object[seatIds.length];
+        long[] seatCategoryIds = new long[seatIds.length];
+
+        boolean[] aisleAfterSlot = new boolean[seatIds.length];
+        for (int r = 0; r < labels.size(); r++) {
+            if (owners.get(r) < 0) {
+                continue;
+            }
+            int length = rowStart[r + 1] - rowStart[r];
+            for (Integer seatNumber : categoryAisles.get(owners.get(r))) {
+                if (seatNumber != null && seatNumber >= 1 && seatNumber < length) {
+                    aisleAfterSlot[rowStart[r] + seatNumber - 1] = true;
+                }
+            }
+        }
+
+        for (EventSeat seat : seats) {
+            Integer r = rowIndex.get(seat.getRowLabel());
+            int seatNumber = seat.getSeatNumber() != null ? seat.getSeatNumber() : 0;
+            if (r == null || seatNumber < 1) {
+                continue;
+            }
+            int slot = rowStart[r] + seatNumber - 1;
+            seatIds[slot] = seat.getId();
+            status[slot] = statusCode(seat.getStatus());
+            seatPrices[slot] = seat.getPrice();
+            seatCategoryIds[slot] = seat.getCategoryId() != null ? seat.getCategoryId() : 0;
+        }
+
+        return new SeatMap(eventId, epoch, Collections.unmodifiableList(categoryList), categoryIds,
+                labels.toArray(new String[0]), rowStart, rowCategory, seatIds, status,
+                seatPrices, seatCategoryIds, aisleAfterSlot);
+    }
+
+    public static byte statusCode(String status) {
+        if (status == null) return AVAILABLE;
+        for (byte i = 0; i < STATUS_NAMES.length; i++) {
+            if (STATUS_NAMES[i].equals(status)) return i;
+        }
+        return BLOCKED;
+    }
+
+    public static String statusName(byte code) {
+        return STATUS_NAMES[code];
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    long getLoadedAt() {
+        return loadedAt;
+    }
+
+    public int getRowCount() {
+        return rowLabels.length;
+    }
+
+    public String getRowLabel(int row) {
+        return rowLabels[row];
+    }
+
+    /**
+     * Slot for (row, seatNumber), or -1 when the position is outside the grid.
+     */
+    public int slotOf(int row, int seatNumber) {
+        if (row < 0 || row >= rowLabels.length) return -1;
+        int length = rowStart[row + 1] - rowStart[row];
+        return seatNumber >= 1 && seatNumber <= length ? rowStart[row] + seatNumber - 1 : -1;
+    }
+
+    /**
+     * Slot for a persisted seat ID, or -1 when the seat is unknown to this map.
+     */
+    public int slotOf(long seatId) {
+        int i = Arrays.binarySearch(sortedIds, seatId);
+        return i >= 0 ? sortedSlots[i] : -1;
+    }
+
+    public synchronized byte statusAt(int slot) {
+        return status[slot];
+    }
+
+    /**
+     * True when every seat is known and either AVAILABLE or HELD (a hold may be
+     * renewed by its owner or may already have lapsed; the database decides).
+     */
+    public synchronized boolean allHoldable(Collection<Long> ids) {
+        for (Long id : ids) {
+            int slot = id != null ? slotOf(id) : -1;
+            if (slot < 0 || (status[slot] != AVAILABLE && status[slot] != HELD)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized long countByStatus(byte code) {
+        long count = 0;
+        for (int slot = 0; slot < seatIds.length; slot++) {
+            if (seatIds[slot] != 0 && status[slot] == code) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Start a freshly built map at {@code initialVersion}. When {@code previous} has the
+     * same seats (a periodic reload rather than a layout change) its version and change
+     * log carry over, and any status that differs is recorded as a change, so clients
+     * on an older version still get a delta.
+     */
+    synchronized void initVersion(SeatMap previous, java.util.function.LongSupplier versions) {
+        if (previous == null || !sameSeats(previous)) {
+            version = versions.getAsLong();
+            changeLogFloor = version;
+            return;
+        }
+        synchronized (previous) {
+            version = previous.version;
+            changeLogFloor = previous.changeLogFloor;
+            System.arraycopy(previous.changeVersions, 0, changeVersions, 0, CHANGE_LOG_SIZE);
+            System.arraycopy(previous.changeSlots, 0, changeSlots, 0, CHANGE_LOG_SIZE);
+            changeCount = previous.changeCount;
+            changeHead = previous.changeHead;
+
+            long next = 0;
+            for (int slot = 0; slot < status.length; slot++) {
+                if (status[slot] != previous.status[slot]) {
+                    if (next == 0) next = versions.getAsLong();
+                    recordChange(next, slot);
+                }
+            }
+            if (next != 0) version = next;
+        }
+    }
+
+    private boolean sameSeats(SeatMap other) {
+        return Arrays.equals(rowLabels, other.rowLabels)
+                && Arrays.equals(rowStart, other.rowStart)
+                && Arrays.equals(seatIds, other.seatIds)
+                && Arrays.equals(seatPrices, other.seatPrices)
+                && Arrays.equals(seatCategoryIds, other.seatCategoryIds)
+                && Arrays.equals(categoryIds, other.categoryIds)
+                && categoryList.equals(other.categoryList);
+    }
+
+    /**
+     * Apply a committed status change. Returns the number of slots that actually changed.
+     */
+    synchronized int apply(Collection<Long> ids, byte code, java.util.function.LongSupplier versions) {
+        int changed = 0;
+        long next = 0;
+        for (Long id : ids) {
+            int slot = id != null ? slotOf(id) : -1;
+            if (slot >= 0 && status[slot] != code) {
+                if (next == 0) next = versions.getAsLong();
+                status[slot] = code;
+                recordChange(next, slot);
+                freeRunsDirty[rowOf(slot)] = true;
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            version = next;
+            cachedLayout = null;
+            cachedCompactLayout = null;
+        }
+        return changed;
+    }
+
+    private int rowOf(int slot) {
+        int i = Arrays.binarySearch(rowStart, slot);
+        if (i >= 0) {
+            while (i + 1 < rowStart.length && rowStart[i + 1] == slot) i++; // skip empty rows
+            return i;
+        }
+        return -i - 2;
+    }
+
+    /**
+     * Best block of {@code quantity} adjacent AVAILABLE seats in one row of a category,
+     * never spanning an aisle. Blocks are scored by distance from the preferred row
+     * ({@code preferredRow} is a fraction of the category's depth, 0 = front row) and
+     * by distance from the row's center; lower is better. Returns the seat ids, or
+     * null when no row has a long enough free run.
+     */
+    public synchronized List<Long> findBestAvailable(Long categoryId, int quantity,
+                                                     double preferredRow, double rowWeight, double centerWeight) {
+        int category = -1;
+        for (int c = 0; c < categoryIds.length; c++) {
+            if (categoryIds[c] == categoryId) category = c;
+        }
+        if (category < 0 || quantity < 1) {
+            return null;
+        }
+
+        int[] rows = rowsByCategory[category];
+        double targetRow = preferredRow * Math.max(rows.length - 1, 0);
+        double bestScore = Double.MAX_VALUE;
+        int bestStart = -1;
+        for (int i = 0; i < rows.length; i++) {
+            double rowScore = rowWeight * Math.abs(i - targetRow);
+            if (rowScore >= bestScore) {
+                continue;
+            }
+            int r = rows[i];
+            double rowCenter = (rowStart[r] + rowStart[r + 1] - 1) / 2.0;
+            int[] runs = freeRuns(r);
+            for (int k = 0; k < runs.length; k += 2) {
+                int runStart = runs[k];
+                int runEnd = runStart + runs[k + 1]; // exclusive
+                if (runs[k + 1] < quantity) {
+                    continue;
+                }
+                // Slide the block as close to the row center as the run allows
+                int start = (int) Math.round(rowCenter - (quantity - 1) / 2.0);
+                start = Math.max(runStart, Math.min(start, runEnd - quantity));
+                double score = rowScore + centerWeight * Math.abs(start + (quantity - 1) / 2.0 - rowCenter);
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestStart = start;
+                }
+            }
+        }
+        if (bestStart < 0) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(quantity);
+        for (int slot = bestStart; slot < bestStart + quantity; slot++) {
+            ids.add(seatIds[slot]);
+        }
+        return ids;
+    }
+
+    private int[] freeRuns(int r) {
+        if (!freeRunsDirty[r]) {
+            return freeRuns[r];
+        }
+        int[] runs = new int[8];
+        int n = 0;
+        int runStart = -1;
+        for (int slot = rowStart[r]; slot < rowStart[r + 1]; slot++) {
+            boolean free = seatIds[slot] != 0 && status[slot] == AVAILABLE;
+            if (free && runStart < 0) {
+                runStart = slot;
+            }
+            boolean runEnds = runStart >= 0 && (!free || aisleAfterSlot[slot] || slot == rowStart[r + 1] - 1);
+            if (runEnds) {
+                int end = free ? slot + 1 : slot;
+                if (n + 2 > runs.length) runs = Arrays.copyOf(runs, runs.length * 2);
+                runs[n++] = runStart;
+                runs[n++] = end - runStart;
+                runStart = -1;
+            }
+        }
+        freeRuns[r] = Arrays.copyOf(runs, n);
+        freeRunsDirty[r] = false;
+        return freeRuns[r];
+    }
+
+    private void recordChange(long changeVersion, int slot) {
+        if (changeCount == CHANGE_LOG_SIZE) {
+            // Oldest entry falls off; versions up to it are no longer covered
+            changeLogFloor = changeVersions[changeHead];
+        } else {
+            changeCount++;
+        }
+        changeVersions[changeHead] = changeVersion;
+        changeSlots[changeHead] = slot;
+        changeHead = (changeHead + 1) & (CHANGE_LOG_SIZE - 1);
+    }
+
+    /**
+     * Render the layout in the shape the seat API has always returned
+     * ({@code categories} + one map per seat ordered by row label and seat number).
+     * The rendering is cached until the next status change.
+     */
+    public synchronized Map<String, Object> toLayout() {
+        if (cachedLayout != null) {
+            return cachedLayout;
+        }
+        List<Map<String, Object>> seatList = new ArrayList<>(sortedIds.length);
+        for (int r : rowDisplayOrder) {
+            for (int slot = rowStart[r]; slot < rowStart[r + 1]; slot++) {
+                if (seatIds[slot] == 0) continue;
+                Map<String, Object> seatMap = new HashMap<>();
+                seatMap.put("id", seatIds[slot]);
+                seatMap.put("rowLabel", rowLabels[r]);
+                seatMap.put("seatNumber", slot - rowStart[r] + 1);
+                seatMap.put("status", STATUS_NAMES[status[slot]]);
+                seatMap.put("price", seatPrices[slot]);
+                seatMap.put("categoryId", seatCategoryIds[slot]);
+                seatList.add(seatMap);
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("categories", categoryList);
+        result.put("seats", Collections.unmodifiableList(seatList));
+        cachedLayout = Collections.unmodifiableMap(result);
+        return cachedLayout;
+    }
+
+    /**
+     * Compact rendering: categories once, and per row the seat ids and statuses
+     * run-length encoded as flat {@code [value, count, value, count, ...]} arrays.
+     * Seat ids are encoded as {@code [firstId, count, ...]} runs of consecutive ids;
+     * a firstId of 0 marks slots that have no seat. Status values index {@code statuses};
+     * a row's {@code category} indexes {@code categories}, or is -1 for a row of seats no
+     * current category lists.
+     */
+    public synchronized Map<String, Object> toCompactLayout() {
+        if (cachedCompactLayout != null) {
+            return cachedCompactLayout;
+        }
+        List<Map<String, Object>> rows = new ArrayList<>(rowLabels.length);
+        for (int r : rowDisplayOrder) {
+            List<Long> idRuns = new ArrayList<>();
+            List<Integer> statusRuns = new ArrayList<>();
+            for (int slot = rowStart[r]; slot < rowStart[r + 1]; slot++) {
+                long id = seatIds[slot];
+                int last = idRuns.size() - 2;
+                if (last >= 0 && (id == 0
+                        ? idRuns.get(last) == 0
+                        : idRuns.get(last) != 0 && idRuns.get(last) + idRuns.get(last + 1) == id)) {
+                    idRuns.set(last + 1, idRuns.get(last + 1) + 1);
+                } else {
+                    idRuns.add(id);
+                    idRuns.add(1L);
+                }
+
+                int code = status[slot];
+                int lastStatus = statusRuns.size() - 2;
+                if (lastStatus >= 0 && statusRuns.get(lastStatus) == code) {
+                    statusRuns.set(lastStatus + 1, statusRuns.get(lastStatus + 1) + 1);
+                } else {
+                    statusRuns.add(code);
+                    statusRuns.add(1);
+                }
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("label", rowLabels[r]);
+            row.put("category", rowCategory[r]);
+            row.put("seats", rowStart[r + 1] - rowStart[r]);
+            row.put("ids", idRuns);
+            row.put("status", statusRuns);
+            rows.add(row);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("type", "full");
+        result.put("eventId", eventId);
+        result.put("epoch", epoch);
+        result.put("version", version);
+        result.put("statuses", List.of(STATUS_NAMES));
+        result.put("categories", categoryList);
+        result.put("rows", Collections.unmodifiableList(rows));
+        cachedCompactLayout = Collections.unmodifiableMap(result);
+        return cachedCompactLayout;
+    }
+
+    /**
+     * Seats whose status changed after {@code sinceVersion}, as flat
+     * {@code [seatId, status, seatId, status, ...]} pairs carrying the current status.
+     * Returns null when the change log no longer reaches back that far, the version
+     * belongs to an earlier layout, or it was issued under another epoch (another node,
+     * or before a restart); the client then needs the full layout.
+     */
+    public synchronized Map<String, Object> changesSince(String sinceEpoch, long sinceVersion) {
+        if (!epoch.equals(sinceEpoch) || sinceVersion < changeLogFloor || sinceVersion > version) {
+            return null;
+        }
+        Set<Integer> slots = new LinkedHashSet<>();
+        for (int i = 0; i < changeCount; i++) {
+            int index = (changeHead - changeCount + i) & (CHANGE_LOG_SIZE - 1);
+            if (changeVersions[index] > sinceVersion) {
+                slots.add(changeSlots[index]);
+            }
+        }
+        List<Long> changes = new ArrayList<>(slots.size() * 2);
+        for (int slot : slots) {
+            changes.add(seatIds[slot]);
+            changes.add((long) status[slot]);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("type", "delta");
+        result.put("eventId", eventId);
+        result.put("epoch", epoch);
+        result.put("version", version);
+        result.put("sinceVersion", sinceVersion);
+        result.put("changes", changes);
+        return result;
+    }
+}
@@ -0,0 +1,235 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.EventSeat;
+import com.eventvenue.entity.SeatCategory;
+import com.eventvenue.repository.EventRepository;
+import com.eventvenue.repository.EventSeatRepository;
+import com.eventvenue.repository.SeatCategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory seat state for seat-selection events.
+ *
+ * Layout reads and availability checks are answered from a per-event {@link SeatMap}.
+ * Writes still go to event_seats first; the map is updated only after the surrounding
+ * transaction commits. A map is (re)built from the database on first access, after it
+ * is invalidated, or once it is older than {@code app.seat-map.max-age-ms} so that
+ * changes made by other nodes are picked up.
+ *
+ * Layout versions come from one process-wide counter seeded from the clock, so they
+ * only ever increase for a given event on this node. A reload that finds the same seats
+ * keeps the version history of the map it replaces. Versions from different nodes (or
+ * from before a restart) say nothing about each other, so every version goes out with
+ * this process's random epoch and a delta is only served for a matching epoch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMapEngine {
+
+    private final SeatCategoryRepository seatCategoryRepository;
+    private final EventSeatRepository eventSeatRepository;
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final SeatEventBroadcaster seatEventBroadcaster;
+
+    private final Map<Long, Holder> holders = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    @Value("${app.seat-map.max-age-ms:60000}")
+    private long maxAgeMs;
+
+    @Value("${app.seat-map.warm-on-startup:true}")
+    private boolean warmOnStartup;
+
+    private static final class Holder {
+        volatile SeatMap map;
+        SeatMap retired; // last evicted map, kept so a reload can continue its versions
+    }
+
+    /**
+     * Names this node's version counter; versions are only comparable under the same epoch.
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Current seat map for an event, loading it from the database on a miss.
+     * Throws for an event that does not exist, so unknown ids never get a holder.
+     */
+    public SeatMap get(Long eventId) {
+        Holder holder = holders.get(eventId);
+        if (holder == null) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new RuntimeException("Event not found");
+            }
+            holder = holders.computeIfAbsent(eventId, id -> new Holder());
+        }
+        SeatMap map = holder.map;
+        if (map != null && !isStale(map)) {
+            return map;
+        }
+        synchronized (holder) {
+            map = holder.map;
+            if (map == null || isStale(map)) {
+                map = load(eventId);
+                map.initVersion(holder.map != null ? holder.map : holder.retired, versions::incrementAndGet);
+                holder.map = map;
+                holder.retired = null;
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Record a seat status change once the current transaction commits, and push it
+     * to live watchers of the event. Never touches the database: a map that is not
+     * loaded picks the change up when it is next loaded, and watchers then get the
+     * change under a fresh version. Publishing happens under the holder's lock, so
+     * watchers see versions in increasing order.
+     */
+    public void markSeats(Long eventId, Collection<Long> seatIds, String status) {
+        List<Long> ids = new ArrayList<>(seatIds);
+        byte code = SeatMap.statusCode(status);
+        TransactionHooks.afterCommit(() -> {
+            Holder holder = holders.get(eventId);
+            if (holder == null) {
+                return;
+            }
+            try {
+                synchronized (holder) {
+                    SeatMap map = holder.map;
+                    if (map == null && !seatEventBroadcaster.hasSubscribers(eventId)) {
+                        return; // reloaded from the database on next access
+                    }
+                    long version;
+                    if (map != null) {
+                        map.apply(ids, code, versions::incrementAndGet);
+                        version = map.getVersion();
+                    } else {
+                        // Above the retired map's versions, below those of the reload
+                        version = versions.incrementAndGet();
+                    }
+                    seatEventBroadcaster.publish(eventId, epoch, version, status, ids);
+                }
+            } catch (Exception e) {
+                // The change is committed; the map catches up on its next reload
+                log.warn("Could not apply seat change for event {}: {}", eventId, e.getMessage());
+                evict(eventId);
+            }
+        });
+    }
+
+    /**
+     * Drop the cached map once the current transaction commits (layout changes).
+     */
+    public void invalidate(Long eventId) {
+        TransactionHooks.afterCommit(() -> evict(eventId));
+    }
+
+    /**
+     * Drop the cached map immediately, e.g. when the database disagreed with memory.
+     */
+    public void evict(Long eventId) {
+        Holder holder = holders.get(eventId);
+        if (holder != null) {
+            synchronized (holder) {
+                if (holder.map != null) {
+                    holder.retired = holder.map;
+                }
+                holder.map = null;
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmOnStartup) {
+            return;
+        }
+        try {
+            List<Long> eventIds = eventRepository.findIdsByBookingTypeAndIsActive("SEAT_SELECTION", true);
+            for (Long eventId : eventIds) {
+                get(eventId);
+            }
+            log.info("Seat map engine warmed up for {} seat-selection events", eventIds.size());
+        } catch (Exception e) {
+            log.warn("Seat map warm-up failed, maps will load on demand: {}", e.getMessage());
+        }
+    }
+
+    private boolean isStale(SeatMap map) {
+        return maxAgeMs > 0 && System.currentTimeMillis() - map.getLoadedAt() > maxAgeMs;
+    }
+
+    private SeatMap load(Long eventId) {
+        List<SeatCategory> categories = seatCategoryRepository.findByEventIdOrderBySortOrderAsc(eventId);
+        List<EventSeat> seats = eventSeatRepository.findByEventIdOrderByRowLabelAscSeatNumberAsc(eventId);
+
+        List<List<String>> categoryRows = new ArrayList<>();
+        List<List<Integer>> categoryAisles = new ArrayList<>();
+        List<Map<String, Object>> categoryList = new ArrayList<>();
+        for (SeatCategory cat : categories) {
+            List<String> rows = parseRows(cat.getRows());
+            List<Integer> aisles = parseAisles(cat.getAisleAfter());
+            categoryRows.add(rows);
+            categoryAisles.add(aisles);
+
+            Map<String, Object> catMap = new HashMap<>();
+            catMap.put("id", cat.getId());
+            catMap.put("name", cat.getName());
+            catMap.put("price", cat.getPrice());
+            catMap.put("color", cat.getColor());
+            catMap.put("rows", rows);
+            catMap.put("seatsPerRow", cat.getSeatsPerRow());
+            catMap.put("aisleAfter", aisles);
+            catMap.put("sortOrder", cat.getSortOrder());
+            categoryList.add(Collections.unmodifiableMap(catMap));
+        }
+
+        SeatMap map = SeatMap.build(eventId, epoch, categories, categoryRows, categoryAisles, categoryList, seats);
+        log.debug("Loaded seat map for event {} ({} seats)", eventId, seats.size());
+        return map;
+    }
+
+    List<String> parseRows(String rowsJson) {
+        if (rowsJson == null || rowsJson.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return objectMapper.readValue(rowsJson, new TypeReference<List<String>>() {});
+        } catch (JsonProcessingException e) {
+            log.error("Error parsing rows JSON", e);
+            return new ArrayList<>();
+        }
+    }
+
+    List<Integer> parseAisles(String aisleAfter) {
+        if (aisleAfter == null || aisleAfter.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Integer> aisles = new ArrayList<>();
+        for (String s : aisleAfter.split(",")) {
+            try {
+                aisles.add(Integer.parseInt(s.trim()));
+            } catch (NumberFormatException e) {
+                // Skip invalid entries
+            }
+        }
+        return aisles;
+    }
+}
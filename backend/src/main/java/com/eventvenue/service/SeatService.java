@@ -8,16 +8,24 @@ import com.eventvenue.repository.EventSeatRepository;
 import com.eventvenue.repository.SeatCategoryRepository;
 import com.eventvenue.repository.EventRepository;
 import com.eventvenue.repository.BookingRepository;
+import com.eventvenue.repository.BookingSeatRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Service
@@ -25,56 +33,56 @@ import java.util.*;
 @Slf4j
 public class SeatService {
 
+
     private final SeatCategoryRepository seatCategoryRepository;
     private final EventSeatRepository eventSeatRepository;
     private final EventRepository eventRepository;
     private final BookingRepository bookingRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final SeatMapEngine seatMapEngine;
+    private final TicketInventory ticketInventory;
+    private final SeatHoldTimer seatHoldTimer;
+    private final SeatLayoutBuilder seatLayoutBuilder;
+    private final SeatEventBroadcaster seatEventBroadcaster;
     private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.seat-hold.ttl-seconds:300}")
+    private long holdTtlSeconds;
+
+    @Value("${app.seat-hold.max-seats:10}")
+    private int maxSeatsPerHold;
+
+    @Value("${app.seat-finder.preferred-row:0.0}")
+    private double preferredRow;
+
+    @Value("${app.seat-finder.row-weight:1.0}")
+    private double rowWeight;
+
+    @Value("${app.seat-finder.center-weight:0.25}")
+    private double centerWeight;
+
+    @Value("${app.seat-finder.attempts:3}")
+    private int finderAttempts;
 
     /**
      * Create or update seat layout for an event
-     * Preserves booked seats - only unbooked seats can be modified
+     * Preserves booked seats - only unbooked seats can be modified.
+     * The new layout is diffed against the existing seats in memory and applied
+     * as batched inserts, updates and deletes.
      */
     @Transactional
     public void createSeatLayout(Long eventId, List<Map<String, Object>> categories) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        // Get existing booked seats (these cannot be deleted or modified)
-        List<EventSeat> bookedSeats = eventSeatRepository.findByEventIdAndStatus(eventId, "BOOKED");
-        Set<String> bookedSeatKeys = new HashSet<>();
-        for (EventSeat seat : bookedSeats) {
-            bookedSeatKeys.add(seat.getRowLabel() + "-" + seat.getSeatNumber());
-        }
-        
-        log.info("Found {} booked seats that will be preserved", bookedSeats.size());
-
-        // Delete only available seats (not booked ones)
-        List<EventSeat> allSeats = eventSeatRepository.findByEventIdOrderByRowLabelAscSeatNumberAsc(eventId);
-        List<EventSeat> seatsToDelete = new ArrayList<>();
-        for (EventSeat seat : allSeats) {
-            if (!"BOOKED".equals(seat.getStatus())) {
-                seatsToDelete.add(seat);
-            }
-        }
-        
-        if (!seatsToDelete.isEmpty()) {
-            eventSeatRepository.deleteAll(seatsToDelete);
-            eventSeatRepository.flush(); // Force database synchronization
-            log.info("Deleted {} available seats", seatsToDelete.size());
-        }
-        
-        // Delete existing categories (we'll recreate them and remap booked seats)
-        List<SeatCategory> oldCategories = seatCategoryRepository.findByEventIdOrderBySortOrderAsc(eventId);
-        Map<Long, SeatCategory> oldCategoryMap = new HashMap<>();
-        for (SeatCategory cat : oldCategories) {
-            oldCategoryMap.put(cat.getId(), cat);
-        }
-        seatCategoryRepository.deleteByEventId(eventId);
-
-        int totalSeats = 0;
-        Map<String, Long> rowToCategoryId = new HashMap<>(); // Maps row label to new category ID
+        List<EventSeat> existingSeats = eventSeatRepository.findByEventIdOrderByRowLabelAscSeatNumberAsc(eventId);
+        List<Long> oldCategoryIds = seatCategoryRepository.findByEventIdOrderBySortOrderAsc(eventId).stream()
+                .map(SeatCategory::getId)
+                .toList();
 
+        // Create the new categories; seats are moved onto them before the old ones are dropped
+        List<SeatCategory> newCategories = new ArrayList<>();
         for (int i = 0; i < categories.size(); i++) {
             Map<String, Object> catData = categories.get(i);
             
@@ -102,113 +110,227 @@ public class SeatService {
                 category.setRows((String) rowsObj);
             }
 
-            category = seatCategoryRepository.save(category);
+            newCategories.add(category);
+        }
+        newCategories = seatCategoryRepository.saveAll(newCategories);
 
-            // Map each row to this category
-            List<String> rows = parseRows(category.getRows());
-            for (String row : rows) {
-                rowToCategoryId.put(row, category.getId());
-            }
+        List<List<String>> categoryRows = newCategories.stream()
+                .map(cat -> parseRows(cat.getRows()))
+                .toList();
+        SeatLayoutBuilder.Plan plan = SeatLayoutBuilder.diff(
+                SeatLayoutBuilder.expand(newCategories, categoryRows), existingSeats);
 
-            int seatsPerRow = category.getSeatsPerRow();
-
-            for (String row : rows) {
-                for (int seatNum = 1; seatNum <= seatsPerRow; seatNum++) {
-                    String seatKey = row + "-" + seatNum;
-                    
-                    if (bookedSeatKeys.contains(seatKey)) {
-                    // This seat is booked - update its category reference
-                    // Query the seat from database to get a managed entity
-                    Optional<EventSeat> managedSeatOpt = eventSeatRepository
-                            .findByEventIdAndRowLabelAndSeatNumber(eventId, row, seatNum);
-                    
-                    if (managedSeatOpt.isPresent()) {
-                        EventSeat managedSeat = managedSeatOpt.get();
-                        managedSeat.setCategoryId(category.getId());
-                        managedSeat.setPrice(category.getPrice());
-                        eventSeatRepository.save(managedSeat);  // Now it's an UPDATE, not INSERT
-                        totalSeats++;
-                    } else {
-                        log.warn("Booked seat {}-{} not found in database for event {}", row, seatNum, eventId);
-                    }
-                } else {
-                        // Create new available seat
-                        EventSeat seat = EventSeat.builder()
-                                .eventId(eventId)
-                                .categoryId(category.getId())
-                                .rowLabel(row)
-                                .seatNumber(seatNum)
-                                .status("AVAILABLE")
-                                .price(category.getPrice())
-                                .build();
-                        eventSeatRepository.save(seat);
-                        totalSeats++;
-                    }
-                }
-            }
+        seatLayoutBuilder.apply(eventId, plan);
+        if (!oldCategoryIds.isEmpty()) {
+            seatCategoryRepository.deleteAllByIdInBatch(oldCategoryIds);
         }
 
+        int totalSeats = plan.totalSeats();
+        int bookedSeats = plan.bookedSeats();
+
         // Update event with total seats
+        eventRepository.setTickets(eventId, totalSeats, totalSeats - bookedSeats);
+        ticketInventory.invalidate(eventId);
         event.setTotalTickets(totalSeats);
-        event.setTicketsAvailable(totalSeats - bookedSeats.size());
+        event.setTicketsAvailable(totalSeats - bookedSeats);
         event.setBookingType("SEAT_SELECTION");
         eventRepository.save(event);
+        seatMapEngine.invalidate(eventId);
 
         log.info("Updated seat layout for event {} with {} total seats ({} booked, {} available)", 
-                eventId, totalSeats, bookedSeats.size(), totalSeats - bookedSeats.size());
+                eventId, totalSeats, bookedSeats, totalSeats - bookedSeats);
     }
 
     /**
-     * Get seat layout for an event
+     * Get seat layout for an event (served from the in-memory seat map)
      */
     public Map<String, Object> getSeatLayout(Long eventId) {
-        List<SeatCategory> categories = seatCategoryRepository.findByEventIdOrderBySortOrderAsc(eventId);
-        List<EventSeat> seats = eventSeatRepository.findByEventIdOrderByRowLabelAscSeatNumberAsc(eventId);
-
-        // Convert categories to maps with parsed rows
-        List<Map<String, Object>> categoryList = new ArrayList<>();
-        for (SeatCategory cat : categories) {
-            Map<String, Object> catMap = new HashMap<>();
-            catMap.put("id", cat.getId());
-            catMap.put("name", cat.getName());
-            catMap.put("price", cat.getPrice());
-            catMap.put("color", cat.getColor());
-            catMap.put("rows", parseRows(cat.getRows()));
-            catMap.put("seatsPerRow", cat.getSeatsPerRow());
-            catMap.put("aisleAfter", parseAisles(cat.getAisleAfter()));
-            catMap.put("sortOrder", cat.getSortOrder());
-            categoryList.add(catMap);
-        }
+        return seatMapEngine.get(eventId).toLayout();
+    }
 
-        // Convert seats to maps
-        List<Map<String, Object>> seatList = new ArrayList<>();
-        for (EventSeat seat : seats) {
-            Map<String, Object> seatMap = new HashMap<>();
-            seatMap.put("id", seat.getId());
-            seatMap.put("rowLabel", seat.getRowLabel());
-            seatMap.put("seatNumber", seat.getSeatNumber());
-            seatMap.put("status", seat.getStatus());
-            seatMap.put("price", seat.getPrice());
-            seatMap.put("categoryId", seat.getCategoryId());
-            seatList.add(seatMap);
+    /**
+     * Current layout version of an event's seat map
+     */
+    public long getSeatLayoutVersion(Long eventId) {
+        return seatMapEngine.get(eventId).getVersion();
+    }
+
+    /**
+     * Epoch the layout versions of this node belong to
+     */
+    public String getSeatLayoutEpoch() {
+        return seatMapEngine.getEpoch();
+    }
+
+    /**
+     * Get the compact seat layout, or only the seats that changed after
+     * {@code sinceVersion} when the seat map can still answer that (same epoch).
+     */
+    public Map<String, Object> getCompactSeatLayout(Long eventId, String sinceEpoch, Long sinceVersion) {
+        SeatMap map = seatMapEngine.get(eventId);
+        if (sinceVersion != null && sinceEpoch != null) {
+            Map<String, Object> delta = map.changesSince(sinceEpoch, sinceVersion);
+            if (delta != null) {
+                return delta;
+            }
         }
+        return map.toCompactLayout();
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("categories", categoryList);
-        result.put("seats", seatList);
-        return result;
+    /**
+     * Open a live stream of seat status changes for an event. The first message
+     * carries the layout version the stream starts from; anything committed before
+     * that is fetched with the compact layout endpoint.
+     */
+    public SseEmitter subscribeToSeatChanges(Long eventId) {
+        return seatEventBroadcaster.subscribe(eventId, seatMapEngine.getEpoch(), seatMapEngine.get(eventId).getVersion());
     }
 
     /**
-     * Book selected seats atomically
+     * Book selected seats atomically.
+     * The seats are claimed with one conditional UPDATE instead of a row lock held
+     * for the whole transaction; a lapsed hold counts as available.
      */
     @Transactional
     public Booking bookSeats(Long eventId, List<Long> seatIds, Long userId, int pointsToUse) {
-        // Get seats with pessimistic lock to prevent race conditions
-        List<EventSeat> seats = eventSeatRepository.findByIdInAndStatusWithLock(seatIds, "AVAILABLE");
+        List<Long> ids = distinct(seatIds);
+        // Reject from memory before touching the database. A seat still HELD in memory
+        // may be a lapsed hold, so only the conditional UPDATE decides about those
+        if (!seatMapEngine.get(eventId).allHoldable(ids)) {
+            throw new SeatsUnavailableException();
+        }
+
+        return createSeatBooking(eventId, ids, userId, pointsToUse,
+                bookingId -> eventSeatRepository.bookAvailableSeats(eventId, ids, bookingId, LocalDateTime.now()),
+                SeatsUnavailableException.DEFAULT_MESSAGE);
+    }
+
+    /**
+     * Book the best {@code quantity} adjacent seats in a category.
+     * Seats are picked from the in-memory free-run index; if another buyer claims
+     * them first the pick is retried against the refreshed seat map.
+     */
+    public Booking bookBestAvailable(Long eventId, Long categoryId, int quantity, Long userId, int pointsToUse) {
+        if (categoryId == null) {
+            throw new RuntimeException("categoryId is required");
+        }
+        if (quantity < 1 || quantity > maxSeatsPerHold) {
+            throw new RuntimeException("You can book between 1 and " + maxSeatsPerHold + " seats at a time");
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        SeatsUnavailableException lastConflict = null;
+        for (int attempt = 0; attempt < finderAttempts; attempt++) {
+            List<Long> seatIds = seatMapEngine.get(eventId)
+                    .findBestAvailable(categoryId, quantity, preferredRow, rowWeight, centerWeight);
+            if (seatIds == null) {
+                throw new RuntimeException("No " + quantity + " adjacent seats are available in this category");
+            }
+            try {
+                return transaction.execute(status -> createSeatBooking(eventId, seatIds, userId, pointsToUse,
+                        bookingId -> eventSeatRepository.bookAvailableSeats(eventId, seatIds, bookingId, LocalDateTime.now()),
+                        SeatsUnavailableException.DEFAULT_MESSAGE));
+            } catch (SeatsUnavailableException e) {
+                lastConflict = e;
+                log.debug("Best-available pick for event {} lost a race, retrying", eventId);
+            }
+        }
+        throw lastConflict;
+    }
 
-        if (seats.size() != seatIds.size()) {
-            throw new RuntimeException("Some seats are no longer available");
+    /**
+     * Hold seats for a user for {@code app.seat-hold.ttl-seconds}.
+     * Holding again before the hold lapses renews it.
+     */
+    @Transactional
+    public LocalDateTime holdSeats(Long eventId, List<Long> requestedSeatIds, Long userId) {
+        List<Long> seatIds = distinct(requestedSeatIds);
+        if (seatIds.isEmpty() || seatIds.size() > maxSeatsPerHold) {
+            throw new RuntimeException("You can hold between 1 and " + maxSeatsPerHold + " seats at a time");
+        }
+        if (!seatMapEngine.get(eventId).allHoldable(seatIds)) {
+            throw new SeatsUnavailableException();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime heldUntil = now.plusSeconds(holdTtlSeconds);
+        int held = eventSeatRepository.holdSeats(eventId, seatIds, userId, heldUntil, now);
+        if (held != seatIds.size()) {
+            // Rolls back the seats that were held by this statement
+            seatMapEngine.evict(eventId);
+            throw new SeatsUnavailableException();
+        }
+
+        seatMapEngine.markSeats(eventId, seatIds, "HELD");
+        seatHoldTimer.schedule(eventId, seatIds, heldUntil);
+        log.info("User {} holding {} seats for event {} until {}", userId, seatIds.size(), eventId, heldUntil);
+        return heldUntil;
+    }
+
+    /**
+     * Turn a live hold into a booking.
+     */
+    @Transactional
+    public Booking confirmHeldSeats(Long eventId, List<Long> seatIds, Long userId, int pointsToUse) {
+        List<Long> ids = distinct(seatIds);
+        return createSeatBooking(eventId, ids, userId, pointsToUse,
+                bookingId -> eventSeatRepository.bookHeldSeats(eventId, ids, userId, bookingId, LocalDateTime.now()),
+                "Your seat hold has expired or does not cover these seats");
+    }
+
+    /**
+     * Give held seats back before the hold lapses.
+     */
+    public void releaseHeldSeats(Long eventId, List<Long> seatIds, Long userId) {
+        List<Long> ids = distinct(seatIds);
+        int released = eventSeatRepository.releaseHeldSeats(eventId, ids, userId, LocalDateTime.now());
+        syncSeats(eventId, ids);
+        log.info("User {} released {} held seats for event {}", userId, released, eventId);
+    }
+
+    /**
+     * Expire lapsed holds. Driven by the hold timer, so only seats whose hold
+     * actually came due are touched.
+     */
+    @Scheduled(fixedDelayString = "${app.seat-hold.tick-ms:1000}")
+    public void expireHolds() {
+        for (SeatHoldTimer.Expiry expiry : seatHoldTimer.advance(System.currentTimeMillis())) {
+            try {
+                int expired = eventSeatRepository.expireHeldSeats(expiry.seatIds(), LocalDateTime.now());
+                if (expired > 0) {
+                    syncSeats(expiry.eventId(), expiry.seatIds());
+                    log.info("Expired {} seat holds for event {}", expired, expiry.eventId());
+                }
+            } catch (Exception e) {
+                log.error("Failed to expire seat holds for event {}", expiry.eventId(), e);
+            }
+        }
+    }
+
+    /**
+     * Re-arm the timer for holds that were live when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverHolds() {
+        try {
+            List<EventSeat> held = eventSeatRepository.findByStatus("HELD");
+            for (EventSeat seat : held) {
+                LocalDateTime until = seat.getHeldUntil() != null ? seat.getHeldUntil() : LocalDateTime.now();
+                seatHoldTimer.schedule(seat.getEventId(), List.of(seat.getId()), until);
+            }
+            if (!held.isEmpty()) {
+                log.info("Re-armed {} seat holds after startup", held.size());
+            }
+        } catch (Exception e) {
+            log.warn("Could not recover seat holds: {}", e.getMessage());
+        }
+    }
+
+    private Booking createSeatBooking(Long eventId, List<Long> seatIds, Long userId, int pointsToUse,
+                                      java.util.function.ToIntFunction<Long> claimSeats, String conflictMessage) {
+        List<EventSeat> seats = eventSeatRepository.findAllById(seatIds);
+        if (seats.size() != seatIds.size() || seats.stream().anyMatch(s -> !eventId.equals(s.getEventId()))) {
+            throw new RuntimeException("Some seats do not belong to this event");
         }
 
         // Calculate total amount
@@ -237,24 +359,42 @@ public class SeatService {
 
         booking = bookingRepository.save(booking);
 
-        // Update seats to BOOKED
-        for (EventSeat seat : seats) {
-            seat.setStatus("BOOKED");
-            seat.setBookingId(booking.getId());
-            eventSeatRepository.save(seat);
+        // Claim the seats; a short count rolls back the booking as well
+        if (claimSeats.applyAsInt(booking.getId()) != seatIds.size()) {
+            seatMapEngine.evict(eventId);
+            throw new SeatsUnavailableException(conflictMessage);
         }
-
-        // Update event available tickets
-        Event event = eventRepository.findById(eventId).orElse(null);
-        if (event != null) {
-            event.setTicketsAvailable(event.getTicketsAvailable() - seats.size());
-            eventRepository.save(event);
+        // Update event available tickets; the count follows the seats, so a shortfall
+        // means it drifted and the booking is refused rather than taken below zero
+        if (!ticketInventory.take(eventId, seatIds.size())) {
+            seatMapEngine.evict(eventId);
+            throw new SeatsUnavailableException(conflictMessage);
         }
+        bookingSeatRepository.linkSeats(booking.getId(), seatIds);
+        seatMapEngine.markSeats(eventId, seatIds, "BOOKED");
 
         log.info("Booked {} seats for event {} by user {}", seats.size(), eventId, userId);
         return booking;
     }
 
+    /**
+     * Seat ids without repeats, so a row count can be compared with the request size.
+     */
+    private static List<Long> distinct(List<Long> seatIds) {
+        return seatIds.stream().distinct().toList();
+    }
+
+    /**
+     * Copy the committed status of the given seats into the seat map.
+     */
+    private void syncSeats(Long eventId, List<Long> seatIds) {
+        Map<String, List<Long>> byStatus = new HashMap<>();
+        for (EventSeat seat : eventSeatRepository.findAllById(seatIds)) {
+            byStatus.computeIfAbsent(seat.getStatus(), k -> new ArrayList<>()).add(seat.getId());
+        }
+        byStatus.forEach((status, ids) -> seatMapEngine.markSeats(eventId, ids, status));
+    }
+
     /**
      * Release seats when booking is cancelled
      */
@@ -271,40 +411,15 @@ public class SeatService {
         // Update event available tickets
         if (!seats.isEmpty()) {
             Long eventId = seats.get(0).getEventId();
-            Event event = eventRepository.findById(eventId).orElse(null);
-            if (event != null) {
-                event.setTicketsAvailable(event.getTicketsAvailable() + seats.size());
-                eventRepository.save(event);
-            }
+            seatMapEngine.markSeats(eventId, seats.stream().map(EventSeat::getId).toList(), "AVAILABLE");
+            eventRepository.incrementTicketsAvailable(eventId, seats.size());
+            ticketInventory.released(eventId, seats.size());
         }
 
         log.info("Released {} seats for booking {}", seats.size(), bookingId);
     }
 
     private List<String> parseRows(String rowsJson) {
-        if (rowsJson == null || rowsJson.isEmpty()) {
-            return new ArrayList<>();
-        }
-        try {
-            return objectMapper.readValue(rowsJson, new TypeReference<List<String>>() {});
-        } catch (JsonProcessingException e) {
-            log.error("Error parsing rows JSON", e);
-            return new ArrayList<>();
-        }
-    }
-
-    private List<Integer> parseAisles(String aisleAfter) {
-        if (aisleAfter == null || aisleAfter.isEmpty()) {
-            return new ArrayList<>();
-        }
-        List<Integer> aisles = new ArrayList<>();
-        for (String s : aisleAfter.split(",")) {
-            try {
-                aisles.add(Integer.parseInt(s.trim()));
-            } catch (NumberFormatException e) {
-                // Skip invalid entries
-            }
-        }
-        return aisles;
+        return seatMapEngine.parseRows(rowsJson);
     }
 }
@@ -0,0 +1,20 @@
+package com.eventvenue.service;
+
+/**
+ * Some of the requested seats were claimed or held by someone else first. Callers that
+ * pick seats themselves (best-available) retry on it; other failures are not retried.
+ */
+public class SeatsUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String DEFAULT_MESSAGE = "Some seats are no longer available";
+
+    public SeatsUnavailableException() {
+        super(DEFAULT_MESSAGE);
+    }
+
+    public SeatsUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -6,7 +6,6 @@ import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
 import com.eventvenue.entity.CreditTransaction;
 import com.eventvenue.entity.User;
-import com.eventvenue.entity.Vendor;
 import com.eventvenue.repository.CreditTransactionRepository;
 import com.eventvenue.repository.UserRepository;
 import com.eventvenue.repository.VendorRepository;
@@ -16,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,14 +31,20 @@ public class StripePaymentService {
     private final CreditTransactionRepository creditTransactionRepository;
     private final UserRepository userRepository;
     private final VendorRepository vendorRepository;
+    private final PointsLedger pointsLedger;
+    private final VendorCredits vendorCredits;
 
     public StripePaymentService(
             CreditTransactionRepository creditTransactionRepository,
             UserRepository userRepository,
-            VendorRepository vendorRepository) {
+            VendorRepository vendorRepository,
+            PointsLedger pointsLedger,
+            VendorCredits vendorCredits) {
         this.creditTransactionRepository = creditTransactionRepository;
         this.userRepository = userRepository;
         this.vendorRepository = vendorRepository;
+        this.pointsLedger = pointsLedger;
+        this.vendorCredits = vendorCredits;
     }
 
     /**
@@ -88,7 +94,8 @@ public class StripePaymentService {
      * @param paymentIntentId Stripe payment intent ID
      * @return Success status
      */
-    @Transactional
+    // Checked exceptions roll back too, so a claim is never kept without its credit
+    @Transactional(rollbackFor = Exception.class)
     public Map<String, Object> confirmPayment(String paymentIntentId) throws Exception {
         Stripe.apiKey = stripeSecretKey;
 
@@ -100,19 +107,25 @@ public class StripePaymentService {
                 .findByStripePaymentIntentId(paymentIntentId)
                 .orElseThrow(() -> new Exception("Transaction not found for payment intent: " + paymentIntentId));
 
+        // Already credited by an earlier confirm: report it again without crediting twice
+        if ("COMPLETED".equals(transaction.getStatus())) {
+            return alreadyConfirmed(transaction);
+        }
+
         // Verify payment succeeded
         if ("succeeded".equals(paymentIntent.getStatus())) {
-            // Update transaction status
-            transaction.setStatus("COMPLETED");
-            creditTransactionRepository.save(transaction);
+            // Claim the transaction; a confirm racing this one finds it taken and credits nothing
+            if (creditTransactionRepository.markCompleted(transaction.getId(), LocalDateTime.now()) == 0) {
+                return alreadyConfirmed(transaction);
+            }
 
             // Credit points to user
             User user = userRepository.findById(transaction.getUserId())
                     .orElseThrow(() -> new Exception("User not found: " + transaction.getUserId()));
 
-            Long currentPoints = user.getPoints() != null ? user.getPoints() : 0L;
-            user.setPoints(currentPoints + transaction.getPointsAmount());
-            userRepository.save(user);
+            pointsLedger.apply(user.getId(), transaction.getPointsAmount(),
+                    "Purchased via Stripe (Transaction: " + transaction.getId() + ")")
+                    .ifPresent(user::setPoints);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -123,9 +136,8 @@ public class StripePaymentService {
 
         } else {
             // Payment failed
-            transaction.setStatus("FAILED");
-            transaction.setAdminNotes("Payment status: " + paymentIntent.getStatus());
-            creditTransactionRepository.save(transaction);
+            creditTransactionRepository.markFailed(transaction.getId(),
+                    "Payment status: " + paymentIntent.getStatus(), LocalDateTime.now());
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -133,6 +145,17 @@ public class StripePaymentService {
             return response;
         }
     }
+
+    private Map<String, Object> alreadyConfirmed(CreditTransaction transaction) throws Exception {
+        User user = userRepository.findById(transaction.getUserId())
+                .orElseThrow(() -> new Exception("User not found: " + transaction.getUserId()));
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Payment already confirmed. " + transaction.getPointsAmount() + " points were added.");
+        response.put("pointsAdded", transaction.getPointsAmount());
+        response.put("newBalance", user.getPoints());
+        return response;
+    }
     
     /**
      * Create a Stripe Payment Intent for VENDOR credit purchase
@@ -179,7 +202,7 @@ public class StripePaymentService {
      * @param paymentIntentId Stripe payment intent ID
      * @return Success status
      */
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public Map<String, Object> confirmVendorPayment(String paymentIntentId) throws Exception {
         Stripe.apiKey = stripeSecretKey;
 
@@ -199,22 +222,32 @@ public class StripePaymentService {
 
         // Verify payment succeeded
         if ("succeeded".equals(paymentIntent.getStatus())) {
-            // Credit points to vendor
-            Vendor vendor = vendorRepository.findById(vendorId)
-                    .orElseThrow(() -> new Exception("Vendor not found: " + vendorId));
-
-            Long currentPoints = vendor.getPoints() != null ? vendor.getPoints() : 0L;
-            vendor.setPoints(currentPoints + pointsAmount);
-            vendorRepository.save(vendor);
+            if (!vendorRepository.existsById(vendorId)) {
+                throw new Exception("Vendor not found: " + vendorId);
+            }
+
+            // Claim the payment intent; a repeated or racing confirm credits nothing
+            if (vendorRepository.claimStripePayment(paymentIntentId, vendorId, pointsAmount) == 0) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "Payment already confirmed. " + pointsAmount + " points were added.");
+                response.put("pointsAdded", pointsAmount);
+                response.put("newBalance", vendorCredits.liveBalance(vendorId));
+                return response;
+            }
+
+            // Credit points to vendor as a pending credit, like booking earnings
+            vendorCredits.record(vendorId, null, pointsAmount);
+            Long newBalance = vendorCredits.liveBalance(vendorId);
 
             System.out.println("[VENDOR PAYMENT] Credited " + pointsAmount + 
-                " points to vendor " + vendorId + ", new balance: " + vendor.getPoints());
+                " points to vendor " + vendorId + ", new balance: " + newBalance);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Payment successful! " + pointsAmount + " points added.");
             response.put("pointsAdded", pointsAmount);
-            response.put("newBalance", vendor.getPoints());
+            response.put("newBalance", newBalance);
             return response;
 
         } else {
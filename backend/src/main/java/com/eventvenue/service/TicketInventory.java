@@ -0,0 +1,182 @@
+package com.eventvenue.service;
+
+import com.eventvenue.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ticket inventory for quantity-based events.
+ *
+ * Tickets are taken with one conditional UPDATE on events.tickets_available, which is
+ * the source of truth: it never goes below zero no matter how many buyers race.
+ *
+ * With {@code app.ticket-inventory.striped.enabled} a striped in-memory counter sits in
+ * front of the UPDATE for hot events. Buyers reserve from the counter first, spread over
+ * several stripes so they do not all spin on one value, and once it runs dry the rest
+ * are turned away without reaching the database. A reservation is returned if the
+ * transaction rolls back. Counters are rebuilt from the database after
+ * {@code app.ticket-inventory.striped.max-age-ms}, or as soon as the database disagrees,
+ * so restocks made elsewhere show up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketInventory {
+
+    private final EventRepository eventRepository;
+
+    @Value("${app.ticket-inventory.striped.enabled:false}")
+    private boolean stripedEnabled;
+
+    @Value("${app.ticket-inventory.striped.stripes:16}")
+    private int stripeCount;
+
+    @Value("${app.ticket-inventory.striped.max-age-ms:5000}")
+    private long maxAgeMs;
+
+    private final Map<Long, StripedCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Take tickets from an event. Returns false when there are not enough left; in that
+     * case nothing was taken.
+     */
+    public boolean take(Long eventId, int quantity) {
+        if (quantity <= 0) {
+            return true;
+        }
+        if (!stripedEnabled) {
+            return eventRepository.decrementTicketsAvailable(eventId, quantity) == 1;
+        }
+
+        StripedCounter counter = counter(eventId);
+        if (counter == null) {
+            return false;
+        }
+        boolean reserved = counter.tryTake(quantity);
+        if (!reserved && counter.sum() < quantity) {
+            return false; // sold out as far as this node knows
+        }
+        // Reservations can miss when concurrent takers hold parts of the count; the
+        // database decides those cases.
+        if (eventRepository.decrementTicketsAvailable(eventId, quantity) != 1) {
+            counters.remove(eventId, counter); // memory was ahead of the database
+            return false;
+        }
+        if (!reserved && !counter.tryTake(quantity)) {
+            counters.remove(eventId, counter); // sold through the database; recount
+            return true;
+        }
+        TransactionHooks.onRollback(() -> counter.give(quantity));
+        return true;
+    }
+
+    /**
+     * Tickets went back to an event (cancellation); credits the counter once committed.
+     */
+    public void released(Long eventId, int quantity) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null && quantity > 0) {
+            TransactionHooks.afterCommit(() -> counter.give(quantity));
+        }
+    }
+
+    /**
+     * Forget the counter for an event, e.g. after its ticket totals were edited.
+     */
+    public void invalidate(Long eventId) {
+        TransactionHooks.afterCommit(() -> counters.remove(eventId));
+    }
+
+    private StripedCounter counter(Long eventId) {
+        StripedCounter counter = counters.get(eventId);
+        if (counter != null && System.currentTimeMillis() - counter.loadedAt <= maxAgeMs) {
+            return counter;
+        }
+        Integer available = eventRepository.findTicketsAvailableById(eventId);
+        if (available == null) {
+            counters.remove(eventId);
+            return null;
+        }
+        StripedCounter loaded = new StripedCounter(available, stripeCount);
+        counters.put(eventId, loaded);
+        log.debug("Loaded ticket counter for event {} ({} tickets)", eventId, available);
+        return loaded;
+    }
+
+    /**
+     * Remaining tickets split across stripes. A take tries one stripe first and only
+     * gathers from the others when that stripe alone cannot cover it.
+     */
+    static final class StripedCounter {
+        private final AtomicInteger[] stripes;
+        final long loadedAt = System.currentTimeMillis();
+
+        StripedCounter(int total, int stripeCount) {
+            int count = Math.max(1, stripeCount);
+            stripes = new AtomicInteger[count];
+            for (int i = 0; i < count; i++) {
+                stripes[i] = new AtomicInteger(total / count + (i < total % count ? 1 : 0));
+            }
+        }
+
+        boolean tryTake(int quantity) {
+            int start = ThreadLocalRandom.current().nextInt(stripes.length);
+            for (int i = 0; i < stripes.length; i++) {
+                AtomicInteger stripe = stripes[(start + i) % stripes.length];
+                int value = stripe.get();
+                while (value >= quantity) {
+                    if (stripe.compareAndSet(value, value - quantity)) {
+                        return true;
+                    }
+                    value = stripe.get();
+                }
+            }
+
+            // No single stripe has enough: gather, and put it all back if we fall short
+            int[] taken = new int[stripes.length];
+            int needed = quantity;
+            for (int i = 0; i < stripes.length && needed > 0; i++) {
+                int index = (start + i) % stripes.length;
+                AtomicInteger stripe = stripes[index];
+                int value = stripe.get();
+                while (value > 0) {
+                    int part = Math.min(value, needed);
+                    if (stripe.compareAndSet(value, value - part)) {
+                        taken[index] = part;
+                        needed -= part;
+                        break;
+                    }
+                    value = stripe.get();
+                }
+            }
+            if (needed == 0) {
+                return true;
+            }
+            for (int i = 0; i < stripes.length; i++) {
+                if (taken[i] > 0) {
+                    stripes[i].addAndGet(taken[i]);
+                }
+            }
+            return false;
+        }
+
+        void give(int quantity) {
+            stripes[ThreadLocalRandom.current().nextInt(stripes.length)].addAndGet(quantity);
+        }
+
+        int sum() {
+            int sum = 0;
+            for (AtomicInteger stripe : stripes) {
+                sum += stripe.get();
+            }
+            return sum;
+        }
+    }
+}
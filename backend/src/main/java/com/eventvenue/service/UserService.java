@@ -25,6 +25,9 @@ public class UserService {
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private PointsLedger pointsLedger;
+
     public AuthResponse registerUserResponse(String email, String password, String firstName, String lastName, String phone, String username) {
         // Check if email already registered as USER (allow same email for different roles)
         Optional<User> existingUser = userRepository.findByEmailAndRole(email, "USER");
@@ -130,8 +133,7 @@ public class UserService {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            user.setPoints(user.getPoints() + points);
-            userRepository.save(user);
+            pointsLedger.apply(user.getId(), points, reason).ifPresent(user::setPoints);
             System.out.println("[pranai] Points added: " + points + " for reason: " + reason);
         }
     }
@@ -140,9 +142,9 @@ public class UserService {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            if (user.getPoints() >= points) {
-                user.setPoints(user.getPoints() - points);
-                userRepository.save(user);
+            Optional<Long> newPoints = pointsLedger.apply(user.getId(), -points, "Points deducted");
+            if (newPoints.isPresent()) {
+                user.setPoints(newPoints.get());
                 System.out.println("[pranai] Points deducted: " + points);
                 return true;
             }
@@ -0,0 +1,113 @@
+package com.eventvenue.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Write-behind vendor earnings.
+ *
+ * A booking (or a cancellation, with negative points) only inserts a row into
+ * vendor_credits in its own transaction, so bookings of a popular vendor no longer
+ * queue on the vendor's row. Every {@code app.vendor-credits.fold-delay-ms} the pending
+ * rows are folded into vendors.points: one statement deletes up to
+ * {@code app.vendor-credits.batch-size} of them (SKIP LOCKED, so nodes can fold side by
+ * side) and adds their sum to each vendor in one UPDATE per vendor. Deleting and adding
+ * happen in the same statement, so a crash leaves a credit either pending or folded,
+ * never lost or counted twice. The live balance is vendors.points plus the vendor's
+ * pending rows.
+ *
+ * Vendor points are never written by saving the entity: earnings, take-backs and
+ * purchases are credits here, and fees and withdrawals go through {@link #spend}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VendorCredits {
+
+    private static final String FOLD =
+            "WITH folded AS (" +
+            "DELETE FROM vendor_credits WHERE id IN (" +
+            "SELECT id FROM vendor_credits ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING vendor_id, points), " +
+            "totals AS (SELECT vendor_id, SUM(points) AS points FROM folded GROUP BY vendor_id) " +
+            // Balance never goes below zero, as cancellations did before
+            "UPDATE vendors v SET points = GREATEST(0, COALESCE(v.points, 0) + totals.points), " +
+            "updated_at = LOCALTIMESTAMP " +
+            "FROM totals WHERE v.id = totals.vendor_id " +
+            "RETURNING (SELECT COUNT(*) FROM folded)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.vendor-credits.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.vendor-credits.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Record earnings (or, negative, a take-back) for a vendor in the current transaction.
+     */
+    public void record(Long vendorId, Long bookingId, long points) {
+        jdbcTemplate.update(
+                "INSERT INTO vendor_credits (vendor_id, booking_id, points, created_at) VALUES (?, ?, ?, LOCALTIMESTAMP)",
+                vendorId, bookingId, points);
+    }
+
+    /**
+     * Take points from a vendor (platform fees, withdrawals) if the live balance covers
+     * them; returns false, taking nothing, if it does not. Runs in the caller's
+     * transaction: the vendor row is locked first, so the balance is read by a later
+     * statement that sees any fold committed before the lock, while folds after it wait.
+     */
+    public boolean spend(Long vendorId, long points) {
+        if (jdbcTemplate.queryForList("SELECT id FROM vendors WHERE id = ? FOR UPDATE", Long.class, vendorId).isEmpty()) {
+            return false;
+        }
+        // vendors.points may dip below zero here while pending credits cover it
+        return jdbcTemplate.update(
+                "UPDATE vendors v SET points = COALESCE(v.points, 0) - ?, updated_at = LOCALTIMESTAMP " +
+                "WHERE v.id = ? AND COALESCE(v.points, 0) + COALESCE((SELECT SUM(c.points) FROM vendor_credits c " +
+                "WHERE c.vendor_id = v.id), 0) >= ?",
+                points, vendorId, points) == 1;
+    }
+
+    /**
+     * Folded balance plus pending credits, read in one statement so a fold running at
+     * the same time is seen either completely or not at all.
+     */
+    public Long liveBalance(Long vendorId) {
+        List<Long> balance = jdbcTemplate.queryForList(
+                "SELECT COALESCE(v.points, 0) + COALESCE((SELECT SUM(c.points) FROM vendor_credits c " +
+                "WHERE c.vendor_id = v.id), 0) FROM vendors v WHERE v.id = ?",
+                Long.class, vendorId);
+        return balance.isEmpty() ? 0L : balance.get(0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.vendor-credits.fold-delay-ms:5000}")
+    public void fold() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long total = 0;
+            long folded;
+            do {
+                // Each call is its own statement and so its own transaction
+                folded = jdbcTemplate.queryForList(FOLD, Long.class, batchSize).stream()
+                        .findFirst().orElse(0L);
+                total += folded;
+            } while (folded == batchSize);
+            if (total > 0) {
+                log.debug("Folded {} vendor credits", total);
+            }
+        } catch (Exception e) {
+            log.warn("Folding vendor credits failed, will retry: {}", e.getMessage());
+        }
+    }
+}
@@ -11,9 +11,11 @@ import com.eventvenue.repository.WithdrawalRequestRepository;
 import com.eventvenue.repository.CreditTransactionRepository;
 import com.eventvenue.entity.CreditTransaction;
 import com.eventvenue.security.JwtTokenProvider;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.List;
@@ -45,6 +47,9 @@ public class VendorService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private VendorCredits vendorCredits;
+
     public AuthResponse registerVendorResponse(SignupRequest request) {
         // Check if email already registered as VENDOR
         Optional<Vendor> existingVendor = vendorRepository.findByEmail(request.getEmail());
@@ -145,6 +150,19 @@ public class VendorService {
         return vendorRepository.findById(id);
     }
 
+    /**
+     * The vendor with its live points: folded balance plus earnings not yet folded.
+     * Returns a copy, so the live figure is never written back to the vendor row.
+     */
+    public Optional<Vendor> getProfile(Long vendorId) {
+        return vendorRepository.findById(vendorId).map(vendor -> {
+            Vendor profile = new Vendor();
+            BeanUtils.copyProperties(vendor, profile);
+            profile.setPoints(vendorCredits.liveBalance(vendorId));
+            return profile;
+        });
+    }
+
     public List<Vendor> getAllPendingVendors() {
         return vendorRepository.findByStatus("PENDING");
     }
@@ -250,13 +268,15 @@ public class VendorService {
     /**
      * Purchase points for a vendor
      */
+    @Transactional
     public Vendor purchasePoints(Long vendorId, Long points, String paymentMethod, String transactionId) {
         Optional<Vendor> vendorOptional = vendorRepository.findById(vendorId);
         if (vendorOptional.isPresent()) {
             Vendor vendor = vendorOptional.get();
-            Long currentPoints = vendor.getPoints() != null ? vendor.getPoints() : 0L;
-            vendor.setPoints(currentPoints + points);
-            Vendor saved = vendorRepository.save(vendor);
+            // A pending credit, like booking earnings, so it cannot overwrite a fold
+            vendorCredits.record(vendorId, null, points);
+            // Shown to the caller only; points are not written when the vendor is saved
+            vendor.setPoints(vendorCredits.liveBalance(vendorId));
             
             // Create a credit transaction record for the purchase
             // Note: credit_transactions.user_id FK references users table, so we need to find the user by vendor email
@@ -275,7 +295,7 @@ public class VendorService {
             System.out.println("[VendorService] Points purchased - Vendor: " + vendor.getBusinessName() + 
                               ", Points: " + points + ", Method: " + paymentMethod + ", Tx: " + transactionId);
             
-            return saved;
+            return vendor;
         }
         throw new RuntimeException("Vendor not found");
     }
@@ -0,0 +1,272 @@
+package com.eventvenue.service;
+
+import com.eventvenue.entity.Booking;
+import com.eventvenue.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the active (not cancelled) bookings of each venue, so availability
+ * checks and calendars do not query bookings per date.
+ *
+ * A venue's bookings are kept as slots sorted by start, with a running maximum of the
+ * slot ends; "is anything booked between a and b" is one binary search, however many
+ * days the range spans. A booking covers bookingDate, or startDate..endDate when it
+ * runs over several days. Venues are booked by the day: a booking blocks every day it
+ * touches, whatever its check-in/check-out times, which are kept only for display.
+ *
+ * The index is loaded per venue on first use, updated after each booking create/cancel
+ * commits, and reloaded from the database after {@code app.venue-availability.max-age-ms}
+ * so changes made by other nodes show up. New venue bookings claim their days through
+ * {@link #reserve}, which checks and adds in one step so two requests on this node
+ * cannot take the same day; across nodes the bookings_venue_days_excl constraint has
+ * the last word.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VenueAvailabilityIndex {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${app.venue-availability.max-age-ms:300000}")
+    private long maxAgeMs;
+
+    private final Map<Long, VenueSlots> venues = new ConcurrentHashMap<>();
+
+    /**
+     * True if nothing is booked at the venue on that date.
+     */
+    public boolean isFree(Long venueId, LocalDate date) {
+        return isFree(venueId, date, date);
+    }
+
+    /**
+     * True if nothing is booked at the venue on any day from first to last, inclusive.
+     */
+    public boolean isFree(Long venueId, LocalDate first, LocalDate last) {
+        return !slots(venueId).overlaps(dayStart(first), dayStart(last.plusDays(1)));
+    }
+
+    /**
+     * Booked slots at the venue overlapping [from, to), sorted by start.
+     */
+    public List<Slot> busy(Long venueId, LocalDate from, LocalDate to) {
+        return slots(venueId).overlapping(dayStart(from), dayStart(to));
+    }
+
+    /**
+     * Claim the days a new venue booking covers. Returns false, claiming nothing, if any
+     * of them is already booked (one booking per venue per day). The claim is dropped
+     * again if the transaction rolls back.
+     */
+    public boolean reserve(Booking booking) {
+        Long venueId = booking.getVenueId();
+        Slot slot = Slot.of(booking);
+        long from = Math.floorDiv(slot.start(), MINUTES_PER_DAY) * MINUTES_PER_DAY;
+        long to = -Math.floorDiv(-slot.end(), MINUTES_PER_DAY) * MINUTES_PER_DAY;
+        boolean[] reserved = {false};
+        slots(venueId); // load or refresh outside the claim
+        venues.compute(venueId, (id, current) -> {
+            VenueSlots base = current != null ? current : load(id);
+            if (base.overlaps(from, to)) {
+                return base;
+            }
+            reserved[0] = true;
+            return base.with(slot);
+        });
+        if (reserved[0]) {
+            TransactionHooks.onRollback(() ->
+                    venues.computeIfPresent(venueId, (id, current) -> current.without(slot.bookingId())));
+        }
+        return reserved[0];
+    }
+
+    /**
+     * Record a venue booking that was created or changed status; applied once committed.
+     */
+    public void bookingChanged(Booking booking) {
+        Long venueId = booking.getVenueId();
+        if (venueId == null || booking.getId() == null || booking.getBookingDate() == null) {
+            return;
+        }
+        boolean active = !"CANCELLED".equals(booking.getStatus());
+        Slot slot = Slot.of(booking);
+        TransactionHooks.afterCommit(() -> venues.computeIfPresent(venueId,
+                (id, current) -> active ? current.with(slot) : current.without(slot.bookingId())));
+    }
+
+    /**
+     * Drop the venue's slots once committed, for bulk changes made without the entities;
+     * the next read loads them again.
+     */
+    public void venueChanged(Long venueId) {
+        TransactionHooks.afterCommit(() -> venues.remove(venueId));
+    }
+
+    private VenueSlots slots(Long venueId) {
+        VenueSlots current = venues.get(venueId);
+        if (current != null && isFresh(current)) {
+            return current;
+        }
+        // Loading inside compute() makes concurrent bookingChanged() updates for this
+        // venue wait for the load and apply on top of it instead of being lost
+        return venues.compute(venueId, (id, existing) ->
+                existing != null && isFresh(existing) ? existing : load(id));
+    }
+
+    private boolean isFresh(VenueSlots slots) {
+        return System.currentTimeMillis() - slots.loadedAt <= maxAgeMs;
+    }
+
+    private VenueSlots load(Long venueId) {
+        List<Object[]> rows = bookingRepository.findActiveSlotsByVenueId(venueId);
+        Slot[] slots = new Slot[rows.size()];
+        for (int i = 0; i < slots.length; i++) {
+            Object[] row = rows.get(i);
+            slots[i] = Slot.of((Long) row[0], (LocalDate) row[1], (LocalDate) row[2], (LocalDate) row[3],
+                    (LocalTime) row[4], (LocalTime) row[5]);
+        }
+        log.debug("Loaded availability index for venue {} ({} bookings)", venueId, slots.length);
+        return new VenueSlots(slots, System.currentTimeMillis());
+    }
+
+    static long dayStart(LocalDate date) {
+        return date.toEpochDay() * MINUTES_PER_DAY;
+    }
+
+    /**
+     * A booked range in minutes since the epoch, end exclusive.
+     */
+    public record Slot(long bookingId, long start, long end) {
+
+        static Slot of(Booking booking) {
+            return of(booking.getId(), booking.getBookingDate(), booking.getStartDate(), booking.getEndDate(),
+                    booking.getCheckInTime(), booking.getCheckOutTime());
+        }
+
+        /**
+         * Check-in on the first day, check-out on the last. The range is startDate..endDate
+         * when both are set, otherwise just bookingDate.
+         */
+        static Slot of(long bookingId, LocalDate bookingDate, LocalDate startDate, LocalDate endDate,
+                       LocalTime checkIn, LocalTime checkOut) {
+            boolean range = startDate != null && endDate != null && !endDate.isBefore(startDate);
+            long firstDay = dayStart(range ? startDate : bookingDate);
+            long lastDay = dayStart(range ? endDate : bookingDate);
+            if (checkIn == null || checkOut == null) {
+                return new Slot(bookingId, firstDay, lastDay + MINUTES_PER_DAY);
+            }
+            long start = firstDay + checkIn.toSecondOfDay() / 60;
+            long end = lastDay + (checkOut.toSecondOfDay() + 59) / 60;
+            // A check-out at or before check-in runs to the end of the last day
+            return new Slot(bookingId, start, end > start ? end : lastDay + MINUTES_PER_DAY);
+        }
+
+        public long minutes() {
+            return end - start;
+        }
+
+        public LocalDateTime startTime() {
+            return toDateTime(start);
+        }
+
+        public LocalDateTime endTime() {
+            return toDateTime(end);
+        }
+
+        private static LocalDateTime toDateTime(long minutes) {
+            return LocalDate.ofEpochDay(Math.floorDiv(minutes, MINUTES_PER_DAY)).atStartOfDay()
+                    .plusMinutes(Math.floorMod(minutes, MINUTES_PER_DAY));
+        }
+    }
+
+    /**
+     * Immutable snapshot of one venue's slots; updates copy the arrays, which is cheap
+     * next to how often availability is read.
+     */
+    static final class VenueSlots {
+        private final Slot[] slots;
+        private final long[] maxEnd; // maxEnd[i] = largest end among slots[0..i]
+        final long loadedAt;
+
+        VenueSlots(Slot[] slots, long loadedAt) {
+            this.slots = slots;
+            this.loadedAt = loadedAt;
+            Arrays.sort(slots, (a, b) -> Long.compare(a.start(), b.start()));
+            maxEnd = new long[slots.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < slots.length; i++) {
+                max = Math.max(max, slots[i].end());
+                maxEnd[i] = max;
+            }
+        }
+
+        boolean overlaps(long from, long to) {
+            int candidates = startingBefore(to);
+            return candidates > 0 && maxEnd[candidates - 1] > from;
+        }
+
+        List<Slot> overlapping(long from, long to) {
+            List<Slot> found = new ArrayList<>();
+            // Only slots starting before `to` can overlap; walk back until none of the
+            // earlier ones reach past `from`
+            for (int i = startingBefore(to) - 1; i >= 0 && maxEnd[i] > from; i--) {
+                if (slots[i].end() > from) {
+                    found.add(slots[i]);
+                }
+            }
+            Collections.reverse(found);
+            return found;
+        }
+
+        VenueSlots with(Slot slot) {
+            List<Slot> copy = new ArrayList<>(slots.length + 1);
+            for (Slot s : slots) {
+                if (s.bookingId() != slot.bookingId()) {
+                    copy.add(s);
+                }
+            }
+            copy.add(slot);
+            return new VenueSlots(copy.toArray(new Slot[0]), loadedAt);
+        }
+
+        VenueSlots without(long bookingId) {
+            Slot[] copy = Arrays.stream(slots)
+                    .filter(s -> s.bookingId() != bookingId)
+                    .toArray(Slot[]::new);
+            return copy.length == slots.length ? this : new VenueSlots(copy, loadedAt);
+        }
+
+        /**
+         * Number of slots starting before the given minute.
+         */
+        private int startingBefore(long minute) {
+            int low = 0;
+            int high = slots.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (slots[mid].start() < minute) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.eventvenue.service;
 
-import com.eventvenue.entity.Booking;
+import com.eventvenue.dto.CursorPage;
+import com.eventvenue.dto.VenueAvailabilityDTO;
 import com.eventvenue.entity.Venue;
 import com.eventvenue.entity.Vendor;
-import com.eventvenue.repository.BookingRepository;
 import com.eventvenue.repository.VenueRepository;
 import com.eventvenue.repository.VendorRepository;
+import com.eventvenue.repository.KeysetPager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +14,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,10 +31,19 @@ public class VenueService {
     private VendorRepository vendorRepository;
     
     @Autowired
-    private BookingRepository bookingRepository;
+    private AuditLogService auditLogService;
     
     @Autowired
-    private AuditLogService auditLogService;
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private VenueAvailabilityIndex venueAvailabilityIndex;
+
+    @Autowired
+    private QuoteCache quoteCache;
+
+    @Autowired
+    private VendorCredits vendorCredits;
 
     /**
      * Create venue and deduct platform fee (10 points) from vendor
@@ -39,22 +51,12 @@ public class VenueService {
     @Transactional
     public Venue createVenue(Venue venue) {
         // Deduct platform fee from vendor
-        Optional<Vendor> vendorOpt = vendorRepository.findById(venue.getVendorId());
-        if (vendorOpt.isPresent()) {
-            Vendor vendor = vendorOpt.get();
-            Long currentPoints = vendor.getPoints() != null ? vendor.getPoints() : 0L;
-            
-            if (currentPoints < VENUE_CREATION_PLATFORM_FEE) {
-                throw new RuntimeException("Insufficient points. You need " + VENUE_CREATION_PLATFORM_FEE + 
-                    " points to create a venue but have " + currentPoints);
-            }
-            
-            vendor.setPoints(currentPoints - VENUE_CREATION_PLATFORM_FEE);
-            vendorRepository.save(vendor);
-            
-            System.out.println("[PLATFORM FEE] Deducted " + VENUE_CREATION_PLATFORM_FEE + 
-                " points from vendor " + vendor.getId() + " for venue creation");
+        if (!vendorCredits.spend(venue.getVendorId(), VENUE_CREATION_PLATFORM_FEE)) {
+            throw new RuntimeException("Insufficient points. You need " + VENUE_CREATION_PLATFORM_FEE + 
+                " points to create a venue but have " + vendorCredits.liveBalance(venue.getVendorId()));
         }
+        System.out.println("[PLATFORM FEE] Deducted " + VENUE_CREATION_PLATFORM_FEE + 
+            " points from vendor " + venue.getVendorId() + " for venue creation");
         
         Venue saved = venueRepository.save(venue);
         
@@ -149,6 +151,7 @@ public class VenueService {
             }
             if (venueDetails.getPricePerHour() != null) {
                 venue.setPricePerHour(venueDetails.getPricePerHour());
+                quoteCache.venuePriceChanged(id);
             }
             if (venueDetails.getIsAvailable() != null) {
                 venue.setIsAvailable(venueDetails.getIsAvailable());
@@ -178,9 +181,15 @@ public class VenueService {
             "Venue deleted: " + venueName);
     }
 
+    // Unbounded; the list endpoints use the paged variant
+    @Deprecated
     public List<Venue> getAllVenues() {
         return venueRepository.findAll();
     }
+
+    public CursorPage<Venue> getAllVenues(String cursor, Integer limit) {
+        return keysetPager.page(Venue.class, cursor, limit, Venue::getCreatedAt, Venue::getId);
+    }
     
     /**
      * Check if a venue is available for booking on a specific date.
@@ -189,6 +198,17 @@ public class VenueService {
      * - Single-use venue booking: one venue can only be booked once per date
      */
     public boolean checkAvailability(Long venueId, LocalDate date) {
+        return checkAvailability(venueId, date, date);
+    }
+
+    /**
+     * Check if a venue is free on every day from startDate to endDate (inclusive), for
+     * multi-day bookings. The whole range is one index lookup, however long it is.
+     */
+    public boolean checkAvailability(Long venueId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return false;
+        }
         Optional<Venue> venueOpt = venueRepository.findById(venueId);
         if (venueOpt.isEmpty()) {
             return false;
@@ -200,19 +220,14 @@ public class VenueService {
             return false;
         }
         
-        // Check for existing non-cancelled bookings on this date
+        // Check for existing non-cancelled bookings on these dates
         // Single-use venue booking: one venue can only be booked once per date
-        List<Booking> existingBookings = bookingRepository.findByVenueIdAndBookingDateAndStatusNot(
-            venueId, date, "CANCELLED"
-        );
-        
-        // If there are any existing bookings on this date, venue is not available
-        return existingBookings.isEmpty();
+        return venueAvailabilityIndex.isFree(venueId, startDate, endDate);
     }
     
     /**
-     * Check if a venue has any time slot conflicts for a specific date and time range.
-     * Returns true if NO conflicts exist (slot is available).
+     * Check if a venue can be booked on a date for a time range. Venues are booked by
+     * the day, so this is true only if nothing is booked that day.
      */
     public boolean checkTimeSlotAvailability(Long venueId, LocalDate date, LocalTime checkInTime, LocalTime checkOutTime) {
         Optional<Venue> venueOpt = venueRepository.findById(venueId);
@@ -226,9 +241,85 @@ public class VenueService {
             return false;
         }
         
-        // Check for conflicting bookings (overlapping time slots)
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(venueId, date, checkInTime, checkOutTime);
-        return conflicts.isEmpty();
+        // One booking per venue per day, as for the booking itself: any booking that
+        // day conflicts, whatever its times
+        return venueAvailabilityIndex.isFree(venueId, date);
+    }
+
+    /**
+     * Status, busy times and free time of a venue for each day of a month, for the
+     * booking calendar.
+     */
+    public VenueAvailabilityDTO getMonthAvailability(Long venueId, YearMonth month) {
+        Venue venue = venueRepository.findById(venueId)
+                .orElseThrow(() -> new RuntimeException("Venue not found"));
+        boolean published = venue.getIsAvailable() != null && venue.getIsAvailable();
+
+        LocalDate first = month.atDay(1);
+        List<VenueAvailabilityIndex.Slot> busy = venueAvailabilityIndex.busy(venueId, first, month.plusMonths(1).atDay(1));
+
+        List<VenueAvailabilityDTO.Day> days = new ArrayList<>(month.lengthOfMonth());
+        for (LocalDate date = first; date.getMonth() == month.getMonth(); date = date.plusDays(1)) {
+            long dayStart = date.toEpochDay() * VenueAvailabilityIndex.MINUTES_PER_DAY;
+            long dayEnd = dayStart + VenueAvailabilityIndex.MINUTES_PER_DAY;
+
+            // Busy minutes of the day, clipped to it and merged
+            List<long[]> merged = new ArrayList<>();
+            for (VenueAvailabilityIndex.Slot slot : busy) {
+                long from = Math.max(slot.start(), dayStart);
+                long to = Math.min(slot.end(), dayEnd);
+                if (from >= to) {
+                    continue;
+                }
+                long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && from <= last[1]) {
+                    last[1] = Math.max(last[1], to);
+                } else {
+                    merged.add(new long[] {from, to});
+                }
+            }
+
+            List<VenueAvailabilityDTO.TimeSlot> busySlots = new ArrayList<>();
+            for (long[] range : merged) {
+                busySlots.add(timeSlot(range[0] - dayStart, range[1] - dayStart));
+            }
+
+            // Venues are booked by the day: a booking at any time takes the whole day,
+            // so the busy times are shown but the rest of the day is not offered
+            String status;
+            List<VenueAvailabilityDTO.TimeSlot> freeSlots;
+            if (!published) {
+                status = "UNAVAILABLE";
+                freeSlots = List.of();
+            } else if (busySlots.isEmpty()) {
+                status = "FREE";
+                freeSlots = List.of(timeSlot(0, VenueAvailabilityIndex.MINUTES_PER_DAY));
+            } else {
+                status = "BOOKED";
+                freeSlots = List.of();
+            }
+            days.add(VenueAvailabilityDTO.Day.builder()
+                    .date(date)
+                    .status(status)
+                    .busy(busySlots)
+                    .free(freeSlots)
+                    .build());
+        }
+
+        return VenueAvailabilityDTO.builder()
+                .venueId(venueId)
+                .month(month.toString())
+                .available(published)
+                .days(days)
+                .build();
+    }
+
+    private static VenueAvailabilityDTO.TimeSlot timeSlot(long fromMinute, long toMinute) {
+        return new VenueAvailabilityDTO.TimeSlot(hhmm(fromMinute), hhmm(toMinute));
+    }
+
+    private static String hhmm(long minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
     }
     
     /**
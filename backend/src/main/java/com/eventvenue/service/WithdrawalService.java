@@ -28,6 +28,8 @@ public class WithdrawalService {
     private final CreditTransactionRepository creditTransactionRepository;
     private final StripePaymentService stripePaymentService;
     private final SystemSettingsRepository systemSettingsRepository;
+    private final PointsLedger pointsLedger;
+    private final VendorCredits vendorCredits;
     
     @Autowired
     private EmailService emailService;
@@ -38,13 +40,17 @@ public class WithdrawalService {
             VendorRepository vendorRepository,
             CreditTransactionRepository creditTransactionRepository,
             StripePaymentService stripePaymentService,
-            SystemSettingsRepository systemSettingsRepository) {
+            SystemSettingsRepository systemSettingsRepository,
+            PointsLedger pointsLedger,
+            VendorCredits vendorCredits) {
         this.withdrawalRequestRepository = withdrawalRequestRepository;
         this.userRepository = userRepository;
         this.vendorRepository = vendorRepository;
         this.creditTransactionRepository = creditTransactionRepository;
         this.stripePaymentService = stripePaymentService;
         this.systemSettingsRepository = systemSettingsRepository;
+        this.pointsLedger = pointsLedger;
+        this.vendorCredits = vendorCredits;
     }
 
     /**
@@ -66,7 +72,7 @@ public class WithdrawalService {
             currentPoints = user.getPoints() != null ? user.getPoints() : 0L;
         } else if (vendorOpt.isPresent()) {
             vendor = vendorOpt.get();
-            currentPoints = vendor.getPoints() != null ? vendor.getPoints() : 0L;
+            currentPoints = vendorCredits.liveBalance(userId);
             isVendor = true;
         } else {
             throw new Exception("User/Vendor not found with ID: " + userId);
@@ -84,12 +90,13 @@ public class WithdrawalService {
 
         // DEDUCT POINTS from user/vendor
         if (isVendor && vendor != null) {
-            vendor.setPoints(currentPoints - pointsAmount);
-            vendorRepository.save(vendor);
-            System.out.println("[Withdrawal] Deducted " + pointsAmount + " points from vendor " + userId + ". New balance: " + vendor.getPoints());
+            if (!vendorCredits.spend(userId, pointsAmount)) {
+                throw new Exception("Insufficient points");
+            }
+            System.out.println("[Withdrawal] Deducted " + pointsAmount + " points from vendor " + userId + ". New balance: " + vendorCredits.liveBalance(userId));
         } else if (user != null) {
-            user.setPoints(currentPoints - pointsAmount);
-            userRepository.save(user);
+            user.setPoints(pointsLedger.apply(userId, -pointsAmount, "Withdrawal requested")
+                    .orElseThrow(() -> new Exception("Insufficient points")));
             System.out.println("[Withdrawal] Deducted " + pointsAmount + " points from user " + userId + ". New balance: " + user.getPoints());
         }
 
@@ -223,8 +230,9 @@ public class WithdrawalService {
             throw new Exception("Insufficient points");
         }
 
-        user.setPoints(currentPoints - request.getPointsAmount());
-        userRepository.save(user);
+        user.setPoints(pointsLedger.apply(user.getId(), -request.getPointsAmount(),
+                "Withdrawal #" + request.getId() + " approved")
+                .orElseThrow(() -> new Exception("Insufficient points")));
 
         // Create transaction record
         CreditTransaction transaction = CreditTransaction.createWithdrawal(
@@ -26,6 +26,9 @@
 -- DROP TABLE IF EXISTS vendors CASCADE;
 -- DROP TABLE IF EXISTS users CASCADE;
 
+-- btree_gist lets the bookings exclusion constraint compare venue_id with =
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
 -- ============================================
 -- TABLE 1: USERS
 -- ============================================
@@ -49,6 +52,7 @@ CREATE UNIQUE INDEX IF NOT EXISTS idx_users_email_role ON users(email, role);
 CREATE UNIQUE INDEX IF NOT EXISTS idx_users_username_role ON users(username, role) WHERE username IS NOT NULL;
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_users_role ON users(role);
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at DESC, id DESC);
 
 -- ============================================
 -- TABLE 2: VENDORS
@@ -127,6 +131,7 @@ CREATE TABLE IF NOT EXISTS venues (
 CREATE INDEX IF NOT EXISTS idx_venues_vendor_id ON venues(vendor_id);
 CREATE INDEX IF NOT EXISTS idx_venues_city ON venues(city);
 CREATE INDEX IF NOT EXISTS idx_venues_is_available ON venues(is_available);
+CREATE INDEX IF NOT EXISTS idx_venues_created_at_id ON venues(created_at DESC, id DESC);
 
 -- ============================================
 -- TABLE 5: EVENTS
@@ -175,6 +180,7 @@ CREATE INDEX IF NOT EXISTS idx_events_event_date ON events(event_date);
 CREATE INDEX IF NOT EXISTS idx_events_is_active ON events(is_active);
 CREATE INDEX IF NOT EXISTS idx_events_is_cancelled ON events(is_cancelled);
 CREATE INDEX IF NOT EXISTS idx_events_was_rescheduled ON events(was_rescheduled);
+CREATE INDEX IF NOT EXISTS idx_events_created_at_id ON events(created_at DESC, id DESC);
 
 -- ============================================
 -- TABLE 6: BOOKINGS
@@ -205,7 +211,16 @@ CREATE TABLE IF NOT EXISTS bookings (
     paypal_transaction_id VARCHAR(255),
     remaining_amount DECIMAL(10, 2),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- One booking per venue per day: active bookings of a venue may not share a day.
+    -- A booking covers booking_date, or start_date..end_date when both are set.
+    CONSTRAINT bookings_venue_days_excl EXCLUDE USING gist (
+        venue_id WITH =,
+        (daterange(
+            CASE WHEN start_date IS NOT NULL AND end_date >= start_date THEN start_date ELSE booking_date END,
+            CASE WHEN start_date IS NOT NULL AND end_date >= start_date THEN end_date ELSE booking_date END,
+            '[]')) WITH &&
+    ) WHERE (venue_id IS NOT NULL AND status <> 'CANCELLED')
 );
 
 CREATE INDEX IF NOT EXISTS idx_bookings_user_id ON bookings(user_id);
@@ -213,6 +228,16 @@ CREATE INDEX IF NOT EXISTS idx_bookings_venue_id ON bookings(venue_id);
 CREATE INDEX IF NOT EXISTS idx_bookings_event_id ON bookings(event_id);
 CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings(status);
 CREATE INDEX IF NOT EXISTS idx_bookings_payment_status ON bookings(payment_status);
+CREATE INDEX IF NOT EXISTS idx_bookings_created_at_id ON bookings(created_at DESC, id DESC);
+-- Lifecycle sweeps (BookingLifecycleProcessor): unpaid PENDING by age, CONFIRMED by end
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_created_at ON bookings(created_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_bookings_confirmed_venue_end ON bookings((COALESCE(end_date, booking_date)), id)
+    WHERE status = 'CONFIRMED' AND venue_id IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_bookings_confirmed_event ON bookings(event_id, id) WHERE status = 'CONFIRMED';
+-- Event cancellation refunds walk an event's bookings in id order
+CREATE INDEX IF NOT EXISTS idx_bookings_event_id_id ON bookings(event_id, id);
+-- Reschedule notifications page through an event's distinct attendees
+CREATE INDEX IF NOT EXISTS idx_bookings_event_user ON bookings(event_id, user_id) WHERE status <> 'CANCELLED';
 
 -- ============================================
 -- TABLE 7: SEAT CATEGORIES (for SEAT_SELECTION events)
@@ -244,6 +269,9 @@ CREATE TABLE IF NOT EXISTS event_seats (
     status VARCHAR(20) DEFAULT 'AVAILABLE',
     price DECIMAL(10, 2) NOT NULL,
     booking_id BIGINT REFERENCES bookings(id) ON DELETE SET NULL,
+    -- Seat holds (status HELD until held_until)
+    held_by BIGINT,
+    held_until TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     UNIQUE (event_id, row_label, seat_number)
@@ -253,6 +281,15 @@ CREATE INDEX IF NOT EXISTS idx_event_seats_event_id ON event_seats(event_id);
 CREATE INDEX IF NOT EXISTS idx_event_seats_category_id ON event_seats(category_id);
 CREATE INDEX IF NOT EXISTS idx_event_seats_status ON event_seats(status);
 
+-- Seats of each seat booking (replaces parsing bookings.seat_ids)
+CREATE TABLE IF NOT EXISTS booking_seats (
+    booking_id BIGINT NOT NULL REFERENCES bookings(id) ON DELETE CASCADE,
+    seat_id BIGINT NOT NULL REFERENCES event_seats(id) ON DELETE CASCADE,
+    PRIMARY KEY (booking_id, seat_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_seats_seat_id ON booking_seats(seat_id);
+
 -- ============================================
 -- TABLE 9: PRODUCTS (Vendor products)
 -- ============================================
@@ -337,6 +374,7 @@ CREATE TABLE IF NOT EXISTS reviews (
 CREATE INDEX IF NOT EXISTS idx_reviews_user_id ON reviews(user_id);
 CREATE INDEX IF NOT EXISTS idx_reviews_venue_id ON reviews(venue_id);
 CREATE INDEX IF NOT EXISTS idx_reviews_event_id ON reviews(event_id);
+CREATE INDEX IF NOT EXISTS idx_reviews_created_at_id ON reviews(created_at DESC, id DESC);
 
 -- ============================================
 -- TABLE 14: AUDIT LOGS
@@ -357,6 +395,7 @@ CREATE INDEX IF NOT EXISTS idx_audit_logs_action ON audit_logs(action);
 CREATE INDEX IF NOT EXISTS idx_audit_logs_entity_type ON audit_logs(entity_type);
 CREATE INDEX IF NOT EXISTS idx_audit_logs_performed_by ON audit_logs(performed_by);
 CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at ON audit_logs(created_at);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at_id ON audit_logs(created_at DESC, id DESC);
 
 -- ============================================
 -- TABLE 15: CREDIT TRANSACTIONS
@@ -399,6 +438,7 @@ CREATE TABLE IF NOT EXISTS credit_requests (
 CREATE INDEX IF NOT EXISTS idx_credit_req_user_id ON credit_requests(user_id);
 CREATE INDEX IF NOT EXISTS idx_credit_req_status ON credit_requests(status);
 CREATE INDEX IF NOT EXISTS idx_credit_req_created_at ON credit_requests(created_at);
+CREATE INDEX IF NOT EXISTS idx_credit_requests_created_at_id ON credit_requests(created_at DESC, id DESC);
 
 -- ============================================
 -- TABLE 17: WITHDRAWAL REQUESTS (Vendor cash out)
@@ -424,6 +464,78 @@ CREATE INDEX IF NOT EXISTS idx_withdrawal_status ON withdrawal_requests(status);
 CREATE INDEX IF NOT EXISTS idx_withdrawal_requires_approval ON withdrawal_requests(requires_approval);
 CREATE INDEX IF NOT EXISTS idx_withdrawal_created_at ON withdrawal_requests(created_at);
 
+-- ============================================
+-- TABLE 18: OUTBOX EVENTS (booking side effects, drained by OutboxDispatcher)
+-- ============================================
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_id BIGINT,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, DONE, FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events(available_at, id) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_outbox_events_processed_at ON outbox_events(processed_at) WHERE status = 'DONE';
+
+-- ============================================
+-- TABLE 19: SCHEDULER LEASES (one node at a time per scheduled job)
+-- ============================================
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- ============================================
+-- TABLE 20: EVENT CANCELLATION JOBS (refunds of cancelled events, see EventCancellationProcessor)
+-- ============================================
+CREATE TABLE IF NOT EXISTS event_cancellation_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    event_id BIGINT NOT NULL UNIQUE REFERENCES events(id) ON DELETE CASCADE,
+    vendor_id BIGINT NOT NULL,
+    reason TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING', -- RUNNING, DONE
+    total_bookings INT NOT NULL DEFAULT 0,
+    processed_bookings INT NOT NULL DEFAULT 0,
+    refunded_points BIGINT NOT NULL DEFAULT 0,
+    last_booking_id BIGINT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_event_cancellation_jobs_running ON event_cancellation_jobs(id) WHERE status = 'RUNNING';
+
+-- ============================================
+-- TABLE 21: VENDOR CREDITS (pending vendor earnings, folded by VendorCredits)
+-- ============================================
+CREATE TABLE IF NOT EXISTS vendor_credits (
+    id BIGSERIAL PRIMARY KEY,
+    vendor_id BIGINT NOT NULL REFERENCES vendors(id) ON DELETE CASCADE,
+    booking_id BIGINT,
+    points BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_vendor_credits_vendor_id ON vendor_credits(vendor_id);
+
+-- ============================================
+-- TABLE 22: VENDOR PAYMENT CLAIMS (Stripe payments already credited to vendors)
+-- ============================================
+CREATE TABLE IF NOT EXISTS vendor_payment_claims (
+    payment_intent_id VARCHAR(255) PRIMARY KEY,
+    vendor_id BIGINT NOT NULL REFERENCES vendors(id) ON DELETE CASCADE,
+    points_amount INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
 -- ============================================
 -- DEFAULT DATA
 -- ============================================
@@ -458,7 +570,7 @@ ON CONFLICT (setting_key) DO NOTHING;
 -- ============================================
 -- DONE! Your database is ready.
 -- ============================================
--- Tables created: 17
+-- Tables created: 22
 -- Default admin: admin@eventvenue.com / admin123
 -- Points per dollar: 100 (configurable in admin settings)
 -- ============================================
@@ -0,0 +1,193 @@
+package com.eventvenue.perf;
+
+import com.eventvenue.dto.BookingDTO;
+import com.eventvenue.entity.Booking;
+import com.eventvenue.entity.Event;
+import com.eventvenue.entity.EventSeat;
+import com.eventvenue.entity.User;
+import com.eventvenue.entity.Vendor;
+import com.eventvenue.repository.BookingRepository;
+import com.eventvenue.repository.BookingSeatRepository;
+import com.eventvenue.repository.EventRepository;
+import com.eventvenue.repository.EventSeatRepository;
+import com.eventvenue.repository.UserRepository;
+import com.eventvenue.repository.VendorRepository;
+import com.eventvenue.service.BookingSeatBackfill;
+import com.eventvenue.service.BookingService;
+import com.eventvenue.service.SeatService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the "my bookings" page against N+1 queries: seeds one user with seat
+ * bookings linked by booking_id, legacy bookings that only carry seatIds JSON and
+ * quantity bookings, then counts the statements BookingService.getBookingsByUserWithSeatInfo
+ * issues. It checks whichever read mode is active: booking_id lookup plus legacy
+ * JSON before the booking_seats backfill finishes, or the single join after it.
+ *
+ * Runs only against an explicitly configured scratch database:
+ *   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/eventvenue_test mvn test -Dtest=BookingListQueryTest
+ *
+ * Fails if the list takes more than {@link #MAX_STATEMENTS} statements or a seat
+ * booking comes back without its seats. The throwaway vendor and user are deleted
+ * at the end.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.seat-map.warm-on-startup=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+@Slf4j
+class BookingListQueryTest {
+
+    private static final int BOOKINGS_PER_KIND = 70;
+
+    // bookings, seats by booking_id, legacy seats by id
+    private static final long MAX_STATEMENTS = 3;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSeatRepository bookingSeatRepository;
+
+    @Autowired
+    private BookingSeatBackfill bookingSeatBackfill;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeatRepository eventSeatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bookingListIsNotNPlusOne() {
+        Vendor vendor = new Vendor();
+        vendor.setEmail("query-count-check-" + System.currentTimeMillis() + "@eventvenue.local");
+        vendor.setPassword("benchmark");
+        vendor.setBusinessName("Query Count Check");
+        vendor = vendorRepository.save(vendor);
+
+        User user = userRepository.save(User.builder()
+                .email("query-count-check-" + System.currentTimeMillis() + "@eventvenue.local")
+                .password("benchmark")
+                .role("USER")
+                .build());
+
+        try {
+            Event seatEvent = createEvent(vendor.getId(), "SEAT_SELECTION", BOOKINGS_PER_KIND * 2);
+            seatService.createSeatLayout(seatEvent.getId(), layout(BOOKINGS_PER_KIND * 2));
+            List<EventSeat> seats = eventSeatRepository.findByEventIdOrderByRowLabelAscSeatNumberAsc(seatEvent.getId());
+            Event quantityEvent = createEvent(vendor.getId(), "QUANTITY", BOOKINGS_PER_KIND);
+
+            for (int i = 0; i < BOOKINGS_PER_KIND; i++) {
+                seatService.bookSeats(seatEvent.getId(), List.of(seats.get(i).getId()), user.getId(), 0);
+                EventSeat legacySeat = seats.get(BOOKINGS_PER_KIND + i);
+                Booking legacy = bookingRepository.save(legacyBooking(user.getId(), seatEvent.getId(), legacySeat));
+                if (bookingSeatBackfill.isComplete()) {
+                    // What the backfill would have done for this booking
+                    bookingSeatRepository.linkSeats(legacy.getId(), List.of(legacySeat.getId()));
+                }
+                bookingRepository.save(Booking.builder()
+                        .userId(user.getId())
+                        .eventId(quantityEvent.getId())
+                        .bookingDate(LocalDate.now())
+                        .quantity(1)
+                        .totalAmount(BigDecimal.ONE)
+                        .status("CONFIRMED")
+                        .paymentStatus("COMPLETED")
+                        .build());
+            }
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+            List<BookingDTO> bookings = bookingService.getBookingsByUserWithSeatInfo(user.getId());
+            long statementCount = statistics.getPrepareStatementCount();
+            statistics.setStatisticsEnabled(false);
+
+            long withSeats = bookings.stream().filter(b -> b.getSeatCount() != null && b.getSeatCount() > 0).count();
+            log.info("{} bookings ({} with seats) loaded with {} statements (limit {})",
+                    bookings.size(), withSeats, statementCount, MAX_STATEMENTS);
+
+            eventRepository.deleteById(seatEvent.getId());
+            eventRepository.deleteById(quantityEvent.getId());
+
+            assertTrue(statementCount <= MAX_STATEMENTS,
+                    "booking list took " + statementCount + " statements, limit " + MAX_STATEMENTS);
+            assertEquals(2L * BOOKINGS_PER_KIND, withSeats, "seat bookings with their seats");
+        } finally {
+            userRepository.deleteById(user.getId());
+            vendorRepository.deleteById(vendor.getId());
+        }
+    }
+
+    /**
+     * A booking from before seats were linked by booking_id: only the JSON column
+     * points at the seat.
+     */
+    private Booking legacyBooking(Long userId, Long eventId, EventSeat seat) {
+        return Booking.builder()
+                .userId(userId)
+                .eventId(eventId)
+                .bookingDate(LocalDate.now())
+                .quantity(1)
+                .seatIds("[" + seat.getId() + "]")
+                .totalAmount(seat.getPrice())
+                .status("CONFIRMED")
+                .paymentStatus("COMPLETED")
+                .build();
+    }
+
+    private Event createEvent(Long vendorId, String bookingType, int tickets) {
+        return eventRepository.save(Event.builder()
+                .vendorId(vendorId)
+                .name("Query count check (" + bookingType + ")")
+                .eventDate(LocalDateTime.now().plusYears(1))
+                .location("Benchmark")
+                .pricePerTicket(BigDecimal.ONE)
+                .totalTickets(tickets)
+                .ticketsAvailable(tickets)
+                .bookingType(bookingType)
+                .vendorPhone("0000000000")
+                .build());
+    }
+
+    private List<Map<String, Object>> layout(int size) {
+        Map<String, Object> category = new HashMap<>();
+        category.put("name", "Standard");
+        category.put("price", 100);
+        category.put("rows", List.of("A"));
+        category.put("seatsPerRow", size);
+        return List.of(category);
+    }
+}
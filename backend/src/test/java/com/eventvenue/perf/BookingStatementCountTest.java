@@ -0,0 +1,167 @@
+package com.eventvenue.perf;
+
+import com.eventvenue.entity.Booking;
+import com.eventvenue.entity.Event;
+import com.eventvenue.entity.User;
+import com.eventvenue.entity.Vendor;
+import com.eventvenue.entity.Venue;
+import com.eventvenue.repository.EventRepository;
+import com.eventvenue.repository.UserRepository;
+import com.eventvenue.repository.VendorRepository;
+import com.eventvenue.repository.VenueRepository;
+import com.eventvenue.service.BookingService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the number of SQL statements one createBookingWithPoints call issues, for a
+ * venue booking and for a quantity event booking, so extra lookups do not creep back
+ * onto the booking path. Statements are counted on the calling thread only
+ * (StatementCounter), commit included.
+ *
+ * Runs only against an explicitly configured scratch database:
+ *   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/eventvenue_test mvn test -Dtest=BookingStatementCountTest
+ *
+ * Fails if either count differs from the expected one, after logging the statements
+ * it saw. The outbox relay and the vendor credit fold are off so the throwaway
+ * bookings' rows stay put; the vendor, user, venue and event are deleted at the end.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.seat-map.warm-on-startup=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.eventvenue.perf.StatementCounter",
+        "app.outbox.enabled=false",
+        "app.vendor-credits.enabled=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+@Slf4j
+class BookingStatementCountTest {
+
+    // user (locked), venue, conversion rate, booking insert, 2 outbox inserts. The two
+    // points deductions (payment, platform fee) and the vendor credit are one
+    // PointsLedger / VendorCredits statement each, sent through JDBC and so not seen by
+    // StatementCounter
+    private static final int EXPECTED_VENUE_STATEMENTS = 6;
+
+    // the same with the event instead of the venue, plus the tickets_available update
+    private static final int EXPECTED_EVENT_STATEMENTS = 7;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bookingStatementCounts() {
+        Vendor vendor = new Vendor();
+        vendor.setEmail("statement-check-" + System.currentTimeMillis() + "@eventvenue.local");
+        vendor.setPassword("benchmark");
+        vendor.setBusinessName("Statement Check");
+        vendor = vendorRepository.save(vendor);
+
+        User user = userRepository.save(User.builder()
+                .email("statement-check-" + System.currentTimeMillis() + "@eventvenue.local")
+                .password("benchmark")
+                .role("USER")
+                .points(1_000_000L)
+                .build());
+
+        List<Long> bookingIds = new ArrayList<>();
+        Long venueId = null;
+        Long eventId = null;
+        try {
+            venueId = venueRepository.save(Venue.builder()
+                    .vendorId(vendor.getId())
+                    .name("Statement check venue")
+                    .city("Benchmark")
+                    .address("Benchmark")
+                    .capacity(10)
+                    .pricePerHour(BigDecimal.TEN)
+                    .isAvailable(true)
+                    .vendorPhone("0000000000")
+                    .build()).getId();
+            eventId = eventRepository.save(Event.builder()
+                    .vendorId(vendor.getId())
+                    .name("Statement check event")
+                    .eventDate(LocalDateTime.now().plusYears(1))
+                    .location("Benchmark")
+                    .pricePerTicket(BigDecimal.ONE)
+                    .totalTickets(100)
+                    .ticketsAvailable(100)
+                    .bookingType("QUANTITY")
+                    .vendorPhone("0000000000")
+                    .build()).getId();
+
+            Long userId = user.getId();
+            Long venue = venueId;
+            Long event = eventId;
+            LocalDate day = LocalDate.now().plusYears(1);
+
+            // Warm-up: loads the venue's availability index, which later bookings reuse
+            bookingIds.add(venueBooking(userId, venue, day).getId());
+
+            int venueStatements = count("venue booking", bookingIds, () -> venueBooking(userId, venue, day.plusDays(1)));
+            int eventStatements = count("event booking", bookingIds, () -> bookingService.createBookingWithPoints(
+                    userId, null, event, day.toString(), null, null, null, 2,
+                    null, null, null, null));
+
+            assertEquals(EXPECTED_VENUE_STATEMENTS, venueStatements, "statements of a venue booking");
+            assertEquals(EXPECTED_EVENT_STATEMENTS, eventStatements, "statements of an event booking");
+        } finally {
+            if (!bookingIds.isEmpty()) {
+                String ids = bookingIds.stream().map(String::valueOf).reduce((a, b) -> a + "," + b).orElse("");
+                jdbcTemplate.update("DELETE FROM outbox_events WHERE aggregate_id IN (" + ids + ")");
+            }
+            userRepository.deleteById(user.getId());
+            if (eventId != null) eventRepository.deleteById(eventId);
+            if (venueId != null) venueRepository.deleteById(venueId);
+            vendorRepository.deleteById(vendor.getId());
+        }
+    }
+
+    private Booking venueBooking(Long userId, Long venueId, LocalDate day) {
+        return bookingService.createBookingWithPoints(
+                userId, venueId, null, day.toString(), "10:00", "12:00", 2, null,
+                null, null, null, null);
+    }
+
+    private int count(String label, List<Long> bookingIds, Supplier<Booking> booking) {
+        StatementCounter.start();
+        List<String> statements;
+        try {
+            bookingIds.add(booking.get().getId());
+        } finally {
+            statements = StatementCounter.stop();
+        }
+        for (String sql : statements) {
+            log.info("  [{}] {}", label, sql);
+        }
+        return statements.size();
+    }
+}
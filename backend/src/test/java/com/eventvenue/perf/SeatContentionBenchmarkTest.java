@@ -0,0 +1,378 @@
+package com.eventvenue.perf;
+
+import com.eventvenue.entity.Event;
+import com.eventvenue.entity.EventSeat;
+import com.eventvenue.entity.User;
+import com.eventvenue.entity.Vendor;
+import com.eventvenue.repository.EventRepository;
+import com.eventvenue.repository.EventSeatRepository;
+import com.eventvenue.repository.UserRepository;
+import com.eventvenue.repository.VendorRepository;
+import com.eventvenue.service.BookingQueue;
+import com.eventvenue.service.SeatService;
+import com.eventvenue.service.SeatsUnavailableException;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Seat booking contention harness: many clients booking seats of one event at once.
+ *
+ * Runs only against an explicitly configured scratch database, and only when asked for:
+ *   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/eventvenue_test mvn test -Dbenchmark=true -Dtest=SeatContentionBenchmarkTest
+ * The app.benchmark.seat-contention.* properties below can be overridden with -D.
+ *
+ * For every strategy and workload a fresh event is laid out through
+ * SeatService.createSeatLayout, then the clients start together. "overlapping" clients
+ * pick random seats from a small hot block, so they collide; "disjoint" clients each
+ * book from their own slice of the house. Strategies:
+ *   direct - SeatService.bookSeats
+ *   hold   - SeatService.holdSeats, then confirmHeldSeats
+ *   queue  - bookSeats through the per-event BookingQueue
+ *
+ * Every run must end with each attempt either booked or refused as a seat conflict,
+ * and with exactly the booked seats marked BOOKED. Reported per run: bookings/s, p50/p99 request latency, conflict rate, time sessions
+ * spent waiting on row locks and time clients spent waiting for a pooled connection.
+ * Lock waits are sampled from pg_stat_activity on a connection the harness keeps for
+ * itself, so they are estimates with the sampling interval as resolution.
+ *
+ * Clients run on virtual threads when the JVM has them (Java 21+), otherwise on a
+ * platform thread per client. The throwaway vendor, user and events are deleted at
+ * the end.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.seat-map.warm-on-startup=false",
+        "app.booking.queue.enabled=true",
+        // Enough connections that the pool is not the only bottleneck being measured
+        "spring.datasource.hikari.maximum-pool-size=32",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class SeatContentionBenchmarkTest {
+
+    private static final int SEATS_PER_ROW = 50;
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private BookingQueue bookingQueue;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeatRepository eventSeatRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.benchmark.seat-contention.seats:5000}")
+    private int seatCount;
+
+    @Value("${app.benchmark.seat-contention.clients:200}")
+    private int clients;
+
+    @Value("${app.benchmark.seat-contention.requests-per-client:10}")
+    private int requestsPerClient;
+
+    @Value("${app.benchmark.seat-contention.seats-per-booking:2}")
+    private int seatsPerBooking;
+
+    @Value("${app.benchmark.seat-contention.hot-seats:200}")
+    private int hotSeats;
+
+    @Value("${app.benchmark.seat-contention.strategies:direct,hold,queue}")
+    private String[] strategies;
+
+    @Value("${app.benchmark.seat-contention.workloads:overlapping,disjoint}")
+    private String[] workloads;
+
+    @Value("${app.benchmark.seat-contention.sample-ms:5}")
+    private long sampleMs;
+
+    private record Result(long[] latencies, int booked, int conflicts, int errors, long elapsedNanos,
+                          long lockWaitMs, long poolWaitMs) {}
+
+    @Test
+    void bookSeatsUnderContention() throws Exception {
+        Vendor vendor = new Vendor();
+        vendor.setEmail("seat-contention-" + System.currentTimeMillis() + "@eventvenue.local");
+        vendor.setPassword("benchmark");
+        vendor.setBusinessName("Seat Contention Benchmark");
+        vendor = vendorRepository.save(vendor);
+
+        User user = userRepository.save(User.builder()
+                .email("seat-contention-" + System.currentTimeMillis() + "@eventvenue.local")
+                .password("benchmark")
+                .role("USER")
+                .build());
+
+        try {
+            log.info("Seat contention benchmark: {} seats, {} clients x {} requests, {} seats per booking, "
+                    + "{} hot seats, {} threads", seatCount, clients, requestsPerClient, seatsPerBooking,
+                    hotSeats, virtualThreadsAvailable() ? "virtual" : "platform");
+            for (String strategy : strategies) {
+                strategy = strategy.trim();
+                if ("queue".equals(strategy) && !bookingQueue.isEnabled()) {
+                    log.warn("Skipping strategy 'queue': app.booking.queue.enabled is false");
+                    continue;
+                }
+                for (String workload : workloads) {
+                    workload = workload.trim();
+                    Long eventId = createEvent(vendor.getId()).getId();
+                    seatService.createSeatLayout(eventId, layout());
+                    List<Long> seatIds = eventSeatRepository.findByEventIdOrderByRowLabelAscSeatNumberAsc(eventId)
+                            .stream().map(EventSeat::getId).toList();
+
+                    Result result = runClients(strategy, workload, eventId, seatIds, user.getId());
+                    report(strategy, workload, result);
+                    long bookedSeats = eventSeatRepository.countByEventIdAndStatus(eventId, "BOOKED");
+                    eventRepository.deleteById(eventId);
+
+                    String run = strategy + " / " + workload;
+                    assertEquals(0, result.errors(), run + ": errors");
+                    assertEquals(result.latencies().length, result.booked() + result.conflicts(), run + ": attempts");
+                    assertEquals((long) result.booked() * seatsPerBooking, bookedSeats, run + ": booked seats");
+                }
+            }
+        } finally {
+            userRepository.deleteById(user.getId());
+            vendorRepository.deleteById(vendor.getId());
+        }
+    }
+
+    private Result runClients(String strategy, String workload, Long eventId, List<Long> seatIds, Long userId)
+            throws Exception {
+        int total = clients * requestsPerClient;
+        long[] latencies = new long[total];
+        Arrays.fill(latencies, -1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        int slice = seatIds.size() / clients;
+        if ("disjoint".equals(workload) && slice < requestsPerClient * seatsPerBooking) {
+            log.warn("{} seats cannot give {} clients disjoint slices for {} bookings each; later requests will "
+                    + "find their slice empty", seatIds.size(), clients, requestsPerClient);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong lockWaitSamples = new AtomicLong();
+        AtomicLong poolWaitSamples = new AtomicLong();
+        Thread sampler = new Thread(() -> sample(running, lockWaitSamples, poolWaitSamples), "seat-contention-sampler");
+
+        ExecutorService pool = newClientExecutor();
+        try {
+            List<Future<?>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(pool.submit(() -> {
+                    Random random = new Random(client);
+                    start.await();
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        List<Long> pick = "disjoint".equals(workload)
+                                ? disjointPick(seatIds, client * slice, slice, r)
+                                : overlappingPick(seatIds, random);
+                        if (pick.isEmpty()) {
+                            continue;
+                        }
+                        long began = System.nanoTime();
+                        try {
+                            book(strategy, eventId, pick, userId);
+                            booked.incrementAndGet();
+                        } catch (SeatsUnavailableException e) {
+                            conflicts.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                            log.debug("Booking failed: {}", e.getMessage());
+                        }
+                        latencies[client * requestsPerClient + r] = System.nanoTime() - began;
+                    }
+                    return null;
+                }));
+            }
+
+            sampler.start();
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - began;
+            running.set(false);
+            sampler.join();
+
+            long[] measured = Arrays.stream(latencies).filter(l -> l >= 0).sorted().toArray();
+            return new Result(measured, booked.get(), conflicts.get(), errors.get(), elapsed,
+                    lockWaitSamples.get() * sampleMs, poolWaitSamples.get() * sampleMs);
+        } finally {
+            running.set(false);
+            pool.shutdownNow();
+        }
+    }
+
+    private void book(String strategy, Long eventId, List<Long> seatIds, Long userId) {
+        switch (strategy) {
+            case "direct" -> seatService.bookSeats(eventId, seatIds, userId, 0);
+            case "hold" -> {
+                seatService.holdSeats(eventId, seatIds, userId);
+                seatService.confirmHeldSeats(eventId, seatIds, userId, 0);
+            }
+            case "queue" -> {
+                BookingQueue.Ticket ticket = bookingQueue.submit(userId, eventId, seatIds.size(), seatIds,
+                        () -> seatService.bookSeats(eventId, seatIds, userId, 0));
+                try {
+                    ticket.getFuture().get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof RuntimeException runtime ? runtime : new RuntimeException(e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown strategy: " + strategy);
+        }
+    }
+
+    private List<Long> overlappingPick(List<Long> seatIds, Random random) {
+        int block = Math.min(hotSeats, seatIds.size());
+        int first = random.nextInt(Math.max(1, block - seatsPerBooking + 1));
+        return seatIds.subList(first, Math.min(first + seatsPerBooking, seatIds.size()));
+    }
+
+    private List<Long> disjointPick(List<Long> seatIds, int sliceStart, int slice, int request) {
+        int from = request * seatsPerBooking;
+        if (from + seatsPerBooking > slice) {
+            return List.of();
+        }
+        return seatIds.subList(sliceStart + from, sliceStart + from + seatsPerBooking);
+    }
+
+    /**
+     * Count, every {@code sample-ms}, the sessions blocked on a lock and the clients
+     * queued for a connection. Each count stands for {@code sample-ms} of waiting.
+     */
+    private void sample(AtomicBoolean running, AtomicLong lockWaits, AtomicLong poolWaits) {
+        HikariDataSource hikari = dataSource instanceof HikariDataSource h ? h : null;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' "
+                             + "AND datname = current_database()")) {
+            while (running.get()) {
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next()) {
+                        lockWaits.addAndGet(rs.getLong(1));
+                    }
+                }
+                if (hikari != null && hikari.getHikariPoolMXBean() != null) {
+                    poolWaits.addAndGet(hikari.getHikariPoolMXBean().getThreadsAwaitingConnection());
+                }
+                Thread.sleep(sampleMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Lock wait sampling unavailable: {}", e.getMessage());
+        }
+    }
+
+    private void report(String strategy, String workload, Result result) {
+        int attempts = result.latencies().length;
+        double seconds = result.elapsedNanos() / 1e9;
+        log.info("{} / {}: {} attempts, {} booked, {} conflicts ({}%), {} errors, {} bookings/s, "
+                        + "p50 {} ms, p99 {} ms, lock wait ~{} ms, pool wait ~{} ms",
+                strategy, workload, attempts, result.booked(), result.conflicts(),
+                attempts == 0 ? 0 : Math.round(result.conflicts() * 1000.0 / attempts) / 10.0,
+                result.errors(), Math.round(result.booked() / seconds),
+                millis(percentile(result.latencies(), 50)), millis(percentile(result.latencies(), 99)),
+                result.lockWaitMs(), result.poolWaitMs());
+    }
+
+    private Event createEvent(Long vendorId) {
+        return eventRepository.save(Event.builder()
+                .vendorId(vendorId)
+                .name("Seat contention benchmark (" + seatCount + " seats)")
+                .eventDate(LocalDateTime.now().plusYears(1))
+                .location("Benchmark")
+                .pricePerTicket(BigDecimal.ONE)
+                .totalTickets(seatCount)
+                .ticketsAvailable(seatCount)
+                .bookingType("SEAT_SELECTION")
+                .vendorPhone("0000000000")
+                .build());
+    }
+
+    /**
+     * One category of {@link #SEATS_PER_ROW}-seat rows.
+     */
+    private List<Map<String, Object>> layout() {
+        int rowCount = (seatCount + SEATS_PER_ROW - 1) / SEATS_PER_ROW;
+        List<String> rows = new ArrayList<>();
+        for (int r = 0; r < rowCount; r++) {
+            rows.add("R" + (r + 1));
+        }
+        Map<String, Object> category = new HashMap<>();
+        category.put("name", "Standard");
+        category.put("price", 100);
+        category.put("rows", rows);
+        category.put("seatsPerRow", SEATS_PER_ROW);
+        return List.of(category);
+    }
+
+    private ExecutorService newClientExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(clients);
+        }
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.eventvenue.perf;
+
+import com.eventvenue.entity.Event;
+import com.eventvenue.entity.Vendor;
+import com.eventvenue.repository.EventRepository;
+import com.eventvenue.repository.EventSeatRepository;
+import com.eventvenue.repository.VendorRepository;
+import com.eventvenue.service.SeatService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Times SeatService.createSeatLayout for 1k / 10k / 50k seat layouts.
+ *
+ * Runs only against an explicitly configured scratch database, and only when asked for:
+ *   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/eventvenue_test mvn test -Dbenchmark=true -Dtest=SeatLayoutBenchmarkTest
+ *
+ * Each size is laid out on a fresh event and then laid out again with new prices,
+ * which exercises the update path. The throwaway vendor (and with it the events
+ * and seats) is deleted at the end.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.seat-map.warm-on-startup=false",
+        "logging.level.org.hibernate.SQL=WARN"
+})
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class SeatLayoutBenchmarkTest {
+
+    private static final int[] SIZES = {1000, 10000, 50000};
+    private static final int ROUNDS = 3;
+    private static final int SEATS_PER_ROW = 50;
+    private static final String[] CATEGORY_NAMES = {"VIP", "Premium", "Standard", "Economy"};
+
+    @Autowired
+    private SeatService seatService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventSeatRepository eventSeatRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Test
+    void createSeatLayout() {
+        Vendor vendor = new Vendor();
+        vendor.setEmail("seat-layout-benchmark-" + System.currentTimeMillis() + "@eventvenue.local");
+        vendor.setPassword("benchmark");
+        vendor.setBusinessName("Seat Layout Benchmark");
+        vendor = vendorRepository.save(vendor);
+
+        try {
+            log.info("Seat layout benchmark: {} rounds per size, {} seats per row", ROUNDS, SEATS_PER_ROW);
+            for (int size : SIZES) {
+                long[] create = new long[ROUNDS];
+                long[] relayout = new long[ROUNDS];
+                for (int round = 0; round < ROUNDS; round++) {
+                    Long eventId = createEvent(vendor.getId(), size).getId();
+
+                    long start = System.nanoTime();
+                    seatService.createSeatLayout(eventId, layout(size, 100));
+                    create[round] = System.nanoTime() - start;
+
+                    start = System.nanoTime();
+                    seatService.createSeatLayout(eventId, layout(size, 120));
+                    relayout[round] = System.nanoTime() - start;
+
+                    assertEquals(size, eventSeatRepository.countByEventIdAndStatus(eventId, "AVAILABLE"),
+                            "seats after re-layout of " + size);
+                    eventRepository.deleteById(eventId);
+                }
+                log.info("{} seats: create median {} ms (min {} ms), re-layout median {} ms (min {} ms)",
+                        size, millis(median(create)), millis(min(create)),
+                        millis(median(relayout)), millis(min(relayout)));
+            }
+        } finally {
+            vendorRepository.deleteById(vendor.getId());
+        }
+    }
+
+    private Event createEvent(Long vendorId, int size) {
+        return eventRepository.save(Event.builder()
+                .vendorId(vendorId)
+                .name("Seat layout benchmark (" + size + " seats)")
+                .eventDate(LocalDateTime.now().plusYears(1))
+                .location("Benchmark")
+                .pricePerTicket(BigDecimal.ONE)
+                .totalTickets(size)
+                .ticketsAvailable(size)
+                .bookingType("SEAT_SELECTION")
+                .vendorPhone("0000000000")
+                .build());
+    }
+
+    /**
+     * Rows of {@link #SEATS_PER_ROW} seats split evenly across the categories.
+     */
+    private List<Map<String, Object>> layout(int size, int basePrice) {
+        int rowCount = (size + SEATS_PER_ROW - 1) / SEATS_PER_ROW;
+        int rowsPerCategory = (rowCount + CATEGORY_NAMES.length - 1) / CATEGORY_NAMES.length;
+
+        List<Map<String, Object>> categories = new ArrayList<>();
+        for (int c = 0; c < CATEGORY_NAMES.length && c * rowsPerCategory < rowCount; c++) {
+            List<String> rows = new ArrayList<>();
+            for (int r = c * rowsPerCategory; r < Math.min(rowCount, (c + 1) * rowsPerCategory); r++) {
+                rows.add("R" + (r + 1));
+            }
+            Map<String, Object> category = new HashMap<>();
+            category.put("name", CATEGORY_NAMES[c]);
+            category.put("price", basePrice * (CATEGORY_NAMES.length - c));
+            category.put("rows", rows);
+            category.put("seatsPerRow", SEATS_PER_ROW);
+            category.put("aisleAfter", "10,40");
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long min(long[] samples) {
+        return Arrays.stream(samples).min().orElse(0);
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,13 @@
+package com.eventvenue.perf;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * {@link TicketOversellTest} with the striped in-memory counter in front of the UPDATE.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.seat-map.warm-on-startup=false",
+        "app.ticket-inventory.striped.enabled=true"
+})
+class StripedTicketOversellTest extends TicketOversellTest {
+}
@@ -0,0 +1,119 @@
+package com.eventvenue.perf;
+
+import com.eventvenue.entity.Event;
+import com.eventvenue.entity.Vendor;
+import com.eventvenue.repository.EventRepository;
+import com.eventvenue.repository.VendorRepository;
+import com.eventvenue.service.EventService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that quantity-based events cannot be oversold: 1,000 buyers race for far
+ * fewer tickets through EventService.buyEventTickets.
+ *
+ * Runs only against an explicitly configured scratch database:
+ *   SPRING_DATASOURCE_URL=jdbc:postgresql://localhost:5432/eventvenue_test mvn test -Dtest='*OversellTest'
+ *
+ * {@link StripedTicketOversellTest} repeats the check with the striped counter in front of the UPDATE.
+ * Every round uses a fresh event; the throwaway vendor is deleted at the end.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "app.seat-map.warm-on-startup=false",
+        "app.ticket-inventory.striped.enabled=false"
+})
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = ".+")
+@Slf4j
+class TicketOversellTest {
+
+    private static final int BUYERS = 1000;
+    private static final int TICKETS = 100;
+    private static final int THREADS = 64;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Test
+    void buyersCannotOversell() throws Exception {
+        Vendor vendor = new Vendor();
+        vendor.setEmail("oversell-check-" + System.currentTimeMillis() + "@eventvenue.local");
+        vendor.setPassword("benchmark");
+        vendor.setBusinessName("Oversell Check");
+        vendor = vendorRepository.save(vendor);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 1; round <= ROUNDS; round++) {
+                Long eventId = createEvent(vendor.getId()).getId();
+
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger sold = new AtomicInteger();
+                AtomicInteger errors = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>(BUYERS);
+                for (int i = 0; i < BUYERS; i++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        try {
+                            if (eventService.buyEventTickets(eventId, 1)) {
+                                sold.incrementAndGet();
+                            }
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                long began = System.nanoTime();
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+                long elapsedMs = (System.nanoTime() - began) / 1_000_000;
+
+                int left = eventRepository.findTicketsAvailableById(eventId);
+                log.info("Round {}: sold {} of {}, {} left in the database, {} errors, {} ms",
+                        round, sold.get(), TICKETS, left, errors.get(), elapsedMs);
+                eventRepository.deleteById(eventId);
+
+                assertEquals(TICKETS, sold.get(), "tickets sold in round " + round);
+                assertEquals(0, left, "tickets left in round " + round);
+            }
+        } finally {
+            pool.shutdownNow();
+            vendorRepository.deleteById(vendor.getId());
+        }
+    }
+
+    private Event createEvent(Long vendorId) {
+        return eventRepository.save(Event.builder()
+                .vendorId(vendorId)
+                .name("Oversell check (" + TICKETS + " tickets)")
+                .eventDate(LocalDateTime.now().plusYears(1))
+                .location("Benchmark")
+                .pricePerTicket(BigDecimal.ONE)
+                .totalTickets(TICKETS)
+                .ticketsAvailable(TICKETS)
+                .bookingType("QUANTITY")
+                .vendorPhone("0000000000")
+                .build());
+    }
+}
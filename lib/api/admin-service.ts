@@ -42,16 +42,29 @@ interface Event {
   approvalStatus: string
 }
 
+// Walks a cursor-paginated list endpoint (CursorPage: items + nextCursor) to the end
+async function fetchAllPages(path: string, limit = 200) {
+  const items: any[] = []
+  let cursor: string | null = null
+  do {
+    const response: Response = await fetch(
+      `${API_BASE_URL}${path}?limit=${limit}${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ""}`,
+      { headers: getHeaders() },
+    )
+    if (!response.ok) throw new Error(`Failed to fetch ${path}`)
+    const data = await response.json()
+    const page = data.data || data
+    items.push(...(page.items || []))
+    cursor = page.nextCursor || null
+  } while (cursor)
+  return items
+}
+
 class AdminService {
   // User Management
   async getAllUsers() {
     try {
-      const response = await fetch(`${API_BASE_URL}/admin/users`, {
-        headers: getHeaders(),
-      })
-      if (!response.ok) throw new Error("Failed to fetch users")
-      const data = await response.json()
-      return data.data || data
+      return await fetchAllPages("/admin/users")
     } catch (error) {
       console.error("[EventVenue] Error fetching users:", error)
       throw error
@@ -247,12 +260,7 @@ class AdminService {
   // Booking Management
   async getAllBookings() {
     try {
-      const response = await fetch(`${API_BASE_URL}/admin/bookings`, {
-        headers: getHeaders(),
-      })
-      if (!response.ok) throw new Error("Failed to fetch bookings")
-      const data = await response.json()
-      return data.data || data
+      return await fetchAllPages("/admin/bookings")
     } catch (error) {
       console.error("[EventVenue] Error fetching bookings:", error)
       throw error
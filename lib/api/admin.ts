@@ -45,7 +45,7 @@ export const adminApi = {
   getStats: () => apiClient.get<SystemStats>("/api/admin/stats"),
 
   // User management
-  getAllUsers: () => apiClient.get<User[]>("/api/admin/users"),
+  getAllUsers: () => apiClient.getAllPages<User>("/api/admin/users"),
   updateUser: (id: number, data: Partial<User>) => apiClient.put<User>(`/api/admin/users/${id}`, data),
   deleteUser: (id: number) => apiClient.delete(`/api/admin/users/${id}`),
   adjustUserPoints: (userId: number, pointsChange: number, reason: string) =>
@@ -64,7 +64,11 @@ export const adminApi = {
   deleteVendor: (id: number) => apiClient.delete(`/api/admin/vendors/${id}`),
 
   // Booking management
-  getAllBookings: () => apiClient.get<{ success: boolean; message: string; data: Booking[] }>("/api/admin/bookings"),
+  getAllBookings: () => apiClient.getAllPages<Booking>("/api/admin/bookings"),
+  getRecentBookings: (limit: number) =>
+    apiClient
+      .get<{ items: Booking[]; nextCursor: string | null }>(`/api/admin/bookings?limit=${limit}`)
+      .then((page) => page.items),
   getBookingById: (id: number) =>
     apiClient.get<{ success: boolean; message: string; data: Booking }>(`/api/admin/bookings/${id}`),
 
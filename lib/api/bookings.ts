@@ -128,14 +128,12 @@ export const bookingsApi = {
   },
 
   getVendorBookings: async () => {
-    const response = await apiClient.get<BookingData[]>("/api/bookings/vendor/my-bookings")
-    const bookings = Array.isArray(response) ? response : [response]
+    const bookings = await apiClient.getAllPages<BookingData>("/api/bookings/vendor/my-bookings")
     return bookings.map(convertToBooking)
   },
 
   getAll: async () => {
-    const response = await apiClient.get<BookingData[]>("/api/bookings")
-    const bookings = Array.isArray(response) ? response : [response]
+    const bookings = await apiClient.getAllPages<BookingData>("/api/bookings")
     return bookings.map(convertToBooking)
   },
 
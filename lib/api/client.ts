@@ -154,6 +154,21 @@ export const apiClient = {
     return extractResponseData<T>(json)
   },
 
+  // Walks a cursor-paginated list endpoint (CursorPage: items + nextCursor) to the end
+  async getAllPages<T>(endpoint: string, limit = 200): Promise<T[]> {
+    const items: T[] = []
+    const separator = endpoint.includes("?") ? "&" : "?"
+    let cursor: string | null = null
+    do {
+      const page: { items?: T[]; nextCursor?: string | null } = await apiClient.get(
+        `${endpoint}${separator}limit=${limit}${cursor ? `&cursor=${encodeURIComponent(cursor)}` : ""}`,
+      )
+      items.push(...(page?.items ?? []))
+      cursor = page?.nextCursor ?? null
+    } while (cursor)
+    return items
+  },
+
   async post<T>(endpoint: string, data?: unknown): Promise<T> {
     const response = await fetchWithAuth(endpoint, {
       method: "POST",
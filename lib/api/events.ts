@@ -13,8 +13,7 @@ const parseEventImages = (event: any): string[] => {
 
 export const eventsApi = {
   getAll: async () => {
-    const response = await apiClient.get<any[]>("/api/events")
-    const eventList = Array.isArray(response) ? response : [response].filter(Boolean)
+    const eventList = await apiClient.getAllPages<any>("/api/events")
     return eventList.map(event => ({
       ...event,
       images: parseEventImages(event)
@@ -55,10 +55,9 @@ const convertToVenue = (data: VenueData): Venue => ({
 
 export const venuesApi = {
   getAll: async (params?: any) => {
-    const response = await apiClient.get<VenueData[]>(
+    const venues = await apiClient.getAllPages<VenueData>(
       `/api/venues${params ? `?${new URLSearchParams(params).toString()}` : ""}`,
     )
-    const venues = Array.isArray(response) ? response : [response].filter(Boolean)
     return venues.map(convertToVenue)
   },
 